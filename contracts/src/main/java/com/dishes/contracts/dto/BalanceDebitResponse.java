@@ -0,0 +1,39 @@
+package com.dishes.contracts.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+
+@Data
+public class BalanceDebitResponse {
+    private Long userId;
+    private boolean success;
+    private BigDecimal balance;
+    private String message;
+    private boolean replayed;
+
+    public static BalanceDebitResponse success(Long userId, BigDecimal balance) {
+        BalanceDebitResponse response = new BalanceDebitResponse();
+        response.setUserId(userId);
+        response.setSuccess(true);
+        response.setBalance(balance);
+        return response;
+    }
+
+    public static BalanceDebitResponse insufficientFunds(Long userId, BigDecimal balance) {
+        BalanceDebitResponse response = new BalanceDebitResponse();
+        response.setUserId(userId);
+        response.setSuccess(false);
+        response.setBalance(balance);
+        response.setMessage("Insufficient balance");
+        return response;
+    }
+
+    public static BalanceDebitResponse refunded(Long userId, BigDecimal balance) {
+        BalanceDebitResponse response = new BalanceDebitResponse();
+        response.setUserId(userId);
+        response.setSuccess(false);
+        response.setBalance(balance);
+        response.setMessage("Order was refunded");
+        return response;
+    }
+}
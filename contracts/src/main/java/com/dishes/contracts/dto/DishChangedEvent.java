@@ -0,0 +1,20 @@
+package com.dishes.contracts.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Published by dish-service on dish.events.exchange whenever dish details, stock or availability change
+ */
+@Data
+public class DishChangedEvent {
+    private List<Long> dishIds = new ArrayList<>();
+    private ChangeType changeType;
+    private LocalDateTime occurredAt;
+
+    public enum ChangeType {
+        UPDATED, STOCK, AVAILABILITY, SOLD_OUT
+    }
+}
@@ -1,4 +1,4 @@
-package com.dishes.dishservice.dto;
+package com.dishes.contracts.dto;
 
 import lombok.Data;
 
@@ -0,0 +1,29 @@
+package com.dishes.contracts.dto;
+
+import lombok.Data;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Saga start message for a new order. Fields may be added but not renamed or removed; readers
+ * ignore fields they do not know, and bump SCHEMA_VERSION when the meaning of a field changes.
+ */
+@Data
+public class OrderValidationMessage implements Serializable {
+    public static final int SCHEMA_VERSION = 1;
+
+    private int schemaVersion = SCHEMA_VERSION;
+    private Long orderId;
+    private Long customerId;
+    private BigDecimal totalAmount;
+    private List<OrderItemInfo> items;
+    
+    @Data
+    public static class OrderItemInfo implements Serializable {
+        private Long dishId;
+        private String dishName;
+        private Integer quantity;
+        private Long sellerId;
+    }
+}
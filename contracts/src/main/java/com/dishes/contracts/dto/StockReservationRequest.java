@@ -0,0 +1,17 @@
+package com.dishes.contracts.dto;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class StockReservationRequest {
+    private Long orderId;
+    private List<ReservationItem> items = new ArrayList<>();
+
+    @Data
+    public static class ReservationItem {
+        private Long dishId;
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,22 @@
+package com.dishes.contracts.dto;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class StockReservationResponse {
+    private Long orderId;
+    private boolean success;
+    private List<ItemResult> items = new ArrayList<>();
+    private String message;
+    private boolean replayed;
+
+    @Data
+    public static class ItemResult {
+        private Long dishId;
+        private Integer quantity;
+        private boolean reserved;
+        private String message;
+    }
+}
@@ -0,0 +1,55 @@
+package com.dishes.dishservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Cache names
+    public static final String DISH_CACHE = "dishes";
+    public static final String ALL_DISHES_CACHE = "allDishes";
+    public static final String DISH_PAGES_CACHE = "dishPages";
+    public static final String SELLER_DISHES_CACHE = "sellerDishes";
+
+    @Value("${dish.cache.max-size:5000}")
+    private long maxSize;
+
+    @Value("${dish.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${dish.cache.list-ttl-seconds:30}")
+    private long listTtlSeconds;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(DISH_CACHE, SELLER_DISHES_CACHE);
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats());
+        // Reservations evict only the dishes they touch, so the catalog lists expire sooner to bound stale stock
+        caffeineCacheManager.registerCustomCache(ALL_DISHES_CACHE, listCache());
+        caffeineCacheManager.registerCustomCache(DISH_PAGES_CACHE, listCache());
+        // Defer evictions to after commit so a concurrent read cannot re-cache the row being changed
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+
+    private Cache<Object, Object> listCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(listTtlSeconds))
+                .recordStats()
+                .build();
+    }
+}
@@ -29,47 +29,15 @@ public class RabbitMQConfig {
     private String password;
     
     // Exchange names
-    public static final String ORDER_VALIDATION_EXCHANGE = "order.validation.exchange";
-    
-    // Queue names
-    public static final String STOCK_CHECK_QUEUE = "order.stock.check.queue";
-    public static final String ORDER_COMPLETION_QUEUE = "order.completion.queue";
+    // Orders reserve stock through the REST API; dish-service consumes no order-service queues
+    public static final String DISH_EVENTS_EXCHANGE = "dish.events.exchange";
     
     // Routing keys
-    public static final String STOCK_CHECK_ROUTING_KEY = "order.stock.check";
-    public static final String PAYMENT_VALIDATION_ROUTING_KEY = "order.payment.validation";
-    public static final String ORDER_COMPLETION_ROUTING_KEY = "order.completion";
-    public static final String ORDER_REJECTION_ROUTING_KEY = "order.rejection";
-    
-    @Bean
-    public DirectExchange orderValidationExchange() {
-        return new DirectExchange(ORDER_VALIDATION_EXCHANGE);
-    }
-    
-    @Bean
-    public Queue stockCheckQueue() {
-        return new Queue(STOCK_CHECK_QUEUE);
-    }
-    
-    @Bean
-    public Queue orderCompletionQueue() {
-        return new Queue(ORDER_COMPLETION_QUEUE);
-    }
-    
-    @Bean
-    public Binding stockCheckBinding() {
-        return BindingBuilder
-                .bind(stockCheckQueue())
-                .to(orderValidationExchange())
-                .with(STOCK_CHECK_ROUTING_KEY);
-    }
+    public static final String DISH_CHANGED_ROUTING_KEY = "dish.changed";
     
     @Bean
-    public Binding orderCompletionBinding() {
-        return BindingBuilder
-                .bind(orderCompletionQueue())
-                .to(orderValidationExchange())
-                .with(ORDER_COMPLETION_ROUTING_KEY);
+    public TopicExchange dishEventsExchange() {
+        return new TopicExchange(DISH_EVENTS_EXCHANGE);
     }
     
     @Bean
@@ -0,0 +1,52 @@
+package com.dishes.dishservice.controller;
+
+import com.dishes.dishservice.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Hit/miss counters of the dish caches since startup
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        List<CacheStatsDTO> result = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+
+            CacheStats stats = caffeineCache.getNativeCache().stats();
+            CacheStatsDTO dto = new CacheStatsDTO();
+            dto.setName(name);
+            dto.setSize(caffeineCache.getNativeCache().estimatedSize());
+            dto.setHitCount(stats.hitCount());
+            dto.setMissCount(stats.missCount());
+            dto.setHitRate(stats.hitRate());
+            dto.setEvictionCount(stats.evictionCount());
+            result.add(dto);
+        }
+        return ResponseEntity.ok(result);
+    }
+}
@@ -1,10 +1,17 @@
 package com.dishes.dishservice.controller;
 
-import com.dishes.dishservice.dto.DishDTO;
+import com.dishes.contracts.dto.DishDTO;
+import com.dishes.contracts.dto.StockReservationRequest;
+import com.dishes.contracts.dto.StockReservationResponse;
+import com.dishes.dishservice.dto.DishSearchCriteria;
 import com.dishes.dishservice.mapper.DishMapper;
 import com.dishes.dishservice.model.Dish;
 import com.dishes.dishservice.service.ejb.DishServiceLocal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,10 +28,36 @@ public class DishController {
     @Autowired
     private DishServiceLocal dishService;
 
+    /**
+     * One page of the catalog, e.g. ?page=0&size=20&sort=price,asc&category=Dessert&available=true.
+     * Every filter is optional; page size is capped by spring.data.web.pageable.max-page-size.
+     */
     @GetMapping
-    public ResponseEntity<List<DishDTO>> getAllDishes() {
-        List<Dish> dishes = dishService.getAllDishes();
-        List<DishDTO> dishDTOs = dishes.stream()
+    public ResponseEntity<Page<DishDTO>> getDishes(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Long sellerId,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        DishSearchCriteria criteria = new DishSearchCriteria();
+        criteria.setCategory(category);
+        criteria.setSellerId(sellerId);
+        criteria.setAvailable(available);
+        criteria.setMinPrice(minPrice);
+        criteria.setMaxPrice(maxPrice);
+
+        Page<Dish> dishes = dishService.searchDishes(criteria, pageable);
+        return ResponseEntity.ok(dishes.map(dishMapper::toDTO));
+    }
+
+    /**
+     * Bulk lookup used by order-service to resolve a whole cart in one call.
+     * Unknown ids are simply absent from the response.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<DishDTO>> getDishesByIds(@RequestParam List<Long> ids) {
+        List<DishDTO> dishDTOs = dishService.getDishesByIds(ids).stream()
                 .map(dishMapper::toDTO)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(dishDTOs);
@@ -47,6 +80,34 @@ public class DishController {
         return ResponseEntity.ok(dishMapper.toDTO(createdDish));
     }
 
+    /**
+     * Atomically reserves stock for every item of an order. Either all items are
+     * decremented or none are; the response carries the per-item outcome.
+     * Reserving again for the same order returns the recorded result.
+     */
+    @PostMapping("/reservations")
+    public ResponseEntity<StockReservationResponse> reserveStock(@RequestBody StockReservationRequest request) {
+        try {
+            return ResponseEntity.ok(dishService.reserveStock(request));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request for this order committed first, so this call now replays its result
+            return ResponseEntity.ok(dishService.reserveStock(request));
+        }
+    }
+
+    /**
+     * Gives back the stock reserved for an order, to compensate an order that failed after reserving
+     */
+    @PostMapping("/reservations/{orderId}/release")
+    public ResponseEntity<StockReservationResponse> releaseStock(@PathVariable Long orderId) {
+        try {
+            return ResponseEntity.ok(dishService.releaseStock(orderId));
+        } catch (DataIntegrityViolationException e) {
+            // The order's reservation committed concurrently; release it now
+            return ResponseEntity.ok(dishService.releaseStock(orderId));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<DishDTO> updateDish(@PathVariable Long id, @RequestBody DishDTO dishDTO) {
         Dish dish = dishMapper.toEntity(dishDTO);
@@ -0,0 +1,15 @@
+package com.dishes.dishservice.dto;
+
+import lombok.Data;
+
+/**
+ * Catalog filters for GET /api/dishes; null fields are not filtered on
+ */
+@Data
+public class DishSearchCriteria {
+    private String category;
+    private Long sellerId;
+    private Boolean available;
+    private Double minPrice;
+    private Double maxPrice;
+}
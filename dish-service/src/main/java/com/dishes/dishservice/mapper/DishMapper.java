@@ -1,6 +1,6 @@
 package com.dishes.dishservice.mapper;
 
-import com.dishes.dishservice.dto.DishDTO;
+import com.dishes.contracts.dto.DishDTO;
 import com.dishes.dishservice.model.Dish;
 import org.springframework.stereotype.Component;
 
@@ -7,7 +7,10 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "dishes")
+@Table(name = "dishes", indexes = {
+        @Index(name = "idx_dishes_category_available_seller", columnList = "category, available, seller_id"),
+        @Index(name = "idx_dishes_seller_available", columnList = "seller_id, available")
+})
 public class Dish {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
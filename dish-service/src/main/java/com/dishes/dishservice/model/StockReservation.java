@@ -0,0 +1,86 @@
+package com.dishes.dishservice.model;
+
+import com.dishes.contracts.dto.StockReservationRequest;
+import com.dishes.contracts.dto.StockReservationResponse;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stock taken for one order, kept so reserving is applied at most once per order and
+ * the same quantities can be given back when the order is compensated.
+ */
+@Data
+@Entity
+@Table(name = "stock_reservations",
+       uniqueConstraints = @UniqueConstraint(name = "uk_stock_reservations_order", columnNames = "order_id"))
+public class StockReservation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "items")
+    private List<StockReservationRequest.ReservationItem> items = new ArrayList<>();
+
+    // Dishes this reservation marked unavailable, the only ones releasing it may re-enable
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "sold_out_dish_ids")
+    private List<Long> soldOutDishIds = new ArrayList<>();
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Result of a repeated reservation, rebuilt from this recorded one
+     */
+    public StockReservationResponse toReplayedResponse() {
+        boolean reserved = status == Status.RESERVED;
+        StockReservationResponse response = new StockReservationResponse();
+        response.setOrderId(orderId);
+        response.setSuccess(reserved);
+        response.setReplayed(true);
+        if (!reserved) {
+            response.setMessage("Stock for this order was already released");
+        }
+        for (StockReservationRequest.ReservationItem item : items) {
+            StockReservationResponse.ItemResult result = new StockReservationResponse.ItemResult();
+            result.setDishId(item.getDishId());
+            result.setQuantity(item.getQuantity());
+            result.setReserved(reserved);
+            response.getItems().add(result);
+        }
+        return response;
+    }
+
+    public enum Status {
+        RESERVED,
+        RELEASED
+    }
+}
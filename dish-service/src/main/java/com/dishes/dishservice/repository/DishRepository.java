@@ -2,8 +2,47 @@ package com.dishes.dishservice.repository;
 
 import com.dishes.dishservice.model.Dish;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
-public interface DishRepository extends JpaRepository<Dish, Long> {
+public interface DishRepository extends JpaRepository<Dish, Long>, JpaSpecificationExecutor<Dish> {
     List<Dish> findBySellerId(Long sellerId);
-} 
\ No newline at end of file
+
+    @Query("SELECT DISTINCT d.sellerId FROM Dish d WHERE d.id IN :ids")
+    List<Long> findSellerIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Decrements stock only if the dish is available and enough is left, so concurrent reservations cannot oversell.
+     * @return 1 if the stock was decremented, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE Dish d SET d.quantity = d.quantity - :quantity " +
+           "WHERE d.id = :id AND d.available = true AND d.quantity >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") Integer quantity);
+
+    @Modifying
+    @Query("UPDATE Dish d SET d.quantity = d.quantity + :quantity WHERE d.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") Integer quantity);
+
+    /**
+     * Dishes among ids that are still listed but have no stock left, i.e. the ones markSoldOut would flip
+     */
+    @Query("SELECT d.id FROM Dish d WHERE d.id IN :ids AND d.available = true AND d.quantity <= 0")
+    List<Long> findSellingOutIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Dish d SET d.available = false WHERE d.id IN :ids AND d.quantity <= 0")
+    int markSoldOut(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reverses markSoldOut for dishes that have stock again; callers pass only the dishes a released
+     * reservation sold out, so dishes disabled by the seller stay disabled
+     */
+    @Modifying
+    @Query("UPDATE Dish d SET d.available = true WHERE d.id IN :ids AND d.available = false AND d.quantity > 0")
+    int markAvailable(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,41 @@
+package com.dishes.dishservice.repository;
+
+import com.dishes.dishservice.dto.DishSearchCriteria;
+import com.dishes.dishservice.model.Dish;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds catalog queries from search criteria. Equality filters come first so they line up
+ * with the (category, available, seller_id) index on dishes.
+ */
+public final class DishSpecifications {
+
+    private DishSpecifications() {
+    }
+
+    public static Specification<Dish> matching(DishSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getCategory() != null && !criteria.getCategory().isBlank()) {
+                predicates.add(cb.equal(root.get("category"), criteria.getCategory()));
+            }
+            if (criteria.getAvailable() != null) {
+                predicates.add(cb.equal(root.get("available"), criteria.getAvailable()));
+            }
+            if (criteria.getSellerId() != null) {
+                predicates.add(cb.equal(root.get("sellerId"), criteria.getSellerId()));
+            }
+            if (criteria.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), criteria.getMinPrice()));
+            }
+            if (criteria.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), criteria.getMaxPrice()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
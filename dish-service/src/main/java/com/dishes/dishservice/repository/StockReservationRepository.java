@@ -0,0 +1,18 @@
+package com.dishes.dishservice.repository;
+
+import com.dishes.dishservice.model.StockReservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+    Optional<StockReservation> findByOrderId(Long orderId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.orderId = :orderId")
+    Optional<StockReservation> findByOrderIdForUpdate(@Param("orderId") Long orderId);
+}
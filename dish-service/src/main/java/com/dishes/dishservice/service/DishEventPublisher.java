@@ -0,0 +1,61 @@
+package com.dishes.dishservice.service;
+
+import com.dishes.contracts.dto.DishChangedEvent;
+import com.dishes.dishservice.config.RabbitMQConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tells other services (order-service's dish cache) that dishes changed.
+ * Events are sent after the surrounding transaction commits so consumers never re-read
+ * the old row, and a failed send is only logged: consumers' caches expire on their own.
+ */
+@Service
+public class DishEventPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(DishEventPublisher.class);
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    public void publishDishChanged(Long dishId, DishChangedEvent.ChangeType changeType) {
+        publishDishesChanged(List.of(dishId), changeType);
+    }
+
+    public void publishDishesChanged(Collection<Long> dishIds, DishChangedEvent.ChangeType changeType) {
+        DishChangedEvent event = new DishChangedEvent();
+        event.setDishIds(new ArrayList<>(dishIds));
+        event.setChangeType(changeType);
+        event.setOccurredAt(LocalDateTime.now());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    private void send(DishChangedEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.DISH_EVENTS_EXCHANGE,
+                    RabbitMQConfig.DISH_CHANGED_ROUTING_KEY, event);
+        } catch (Exception e) {
+            logger.warn("Failed to publish {} event for dishes {}: {}",
+                    event.getChangeType(), event.getDishIds(), e.getMessage());
+        }
+    }
+}
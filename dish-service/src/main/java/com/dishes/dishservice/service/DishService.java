@@ -1,15 +1,34 @@
 package com.dishes.dishservice.service;
 
+import com.dishes.contracts.dto.DishChangedEvent;
+import com.dishes.contracts.dto.StockReservationRequest;
+import com.dishes.contracts.dto.StockReservationResponse;
+import com.dishes.dishservice.config.CacheConfig;
+import com.dishes.dishservice.dto.DishSearchCriteria;
 import com.dishes.dishservice.model.Dish;
+import com.dishes.dishservice.model.StockReservation;
 import com.dishes.dishservice.repository.DishRepository;
+import com.dishes.dishservice.repository.DishSpecifications;
+import com.dishes.dishservice.repository.StockReservationRepository;
 import com.dishes.dishservice.service.ejb.DishServiceLocal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Standard Spring service implementation of DishServiceLocal
@@ -21,35 +40,77 @@ public class DishService implements DishServiceLocal {
     @Autowired
     private DishRepository dishRepository;
 
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private DishEventPublisher dishEventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @Override
+    @Cacheable(CacheConfig.ALL_DISHES_CACHE)
     public List<Dish> getAllDishes() {
         return dishRepository.findAll();
     }
 
     @Override
+    @Cacheable(CacheConfig.DISH_PAGES_CACHE)
+    public Page<Dish> searchDishes(DishSearchCriteria criteria, Pageable pageable) {
+        return dishRepository.findAll(DishSpecifications.matching(criteria), pageable);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.DISH_CACHE, key = "#id")
     public Dish getDish(Long id) {
         return dishRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Dish not found"));
     }
 
     @Override
+    public List<Dish> getDishesByIds(List<Long> ids) {
+        return dishRepository.findAllById(ids);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.SELLER_DISHES_CACHE, key = "#sellerId")
     public List<Dish> getDishesBySeller(Long sellerId) {
         return dishRepository.findBySellerId(sellerId);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ALL_DISHES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DISH_PAGES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SELLER_DISHES_CACHE, allEntries = true)
+    })
     public Dish createDish(Dish dish) {
         return dishRepository.save(dish);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DISH_CACHE, key = "#dish.id"),
+            @CacheEvict(cacheNames = CacheConfig.ALL_DISHES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DISH_PAGES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SELLER_DISHES_CACHE, allEntries = true)
+    })
     public Dish updateDish(Dish dish) {
-        return dishRepository.save(dish);
+        Dish savedDish = dishRepository.save(dish);
+        dishEventPublisher.publishDishChanged(savedDish.getId(), DishChangedEvent.ChangeType.UPDATED);
+        return savedDish;
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DISH_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ALL_DISHES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DISH_PAGES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SELLER_DISHES_CACHE, allEntries = true)
+    })
     public Dish updateStock(Long id, Integer quantity) {
         Dish dish = getDish(id);
         dish.setQuantity(quantity);
@@ -59,7 +120,9 @@ public class DishService implements DishServiceLocal {
             dish.setAvailable(false);
         }
         
-        return dishRepository.save(dish);
+        Dish savedDish = dishRepository.save(dish);
+        dishEventPublisher.publishDishChanged(id, DishChangedEvent.ChangeType.STOCK);
+        return savedDish;
     }
 
     @Override
@@ -87,9 +150,165 @@ public class DishService implements DishServiceLocal {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DISH_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ALL_DISHES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DISH_PAGES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SELLER_DISHES_CACHE, allEntries = true)
+    })
     public Dish updateAvailability(Long id, boolean available) {
         Dish dish = getDish(id);
         dish.setAvailable(available);
-        return dishRepository.save(dish);
+        Dish savedDish = dishRepository.save(dish);
+        dishEventPublisher.publishDishChanged(id, DishChangedEvent.ChangeType.AVAILABILITY);
+        return savedDish;
+    }
+
+    @Override
+    @Transactional
+    public StockReservationResponse reserveStock(StockReservationRequest request) {
+        if (request.getOrderId() != null) {
+            Optional<StockReservation> existing = stockReservationRepository.findByOrderId(request.getOrderId());
+            if (existing.isPresent()) {
+                logger.info("Order {} already has a {} reservation, skipping", request.getOrderId(), existing.get().getStatus());
+                return existing.get().toReplayedResponse();
+            }
+        }
+
+        StockReservationResponse response = new StockReservationResponse();
+        response.setOrderId(request.getOrderId());
+
+        // Update rows in a stable order so concurrent reservations cannot deadlock
+        List<StockReservationRequest.ReservationItem> items = new ArrayList<>(request.getItems());
+        items.sort(Comparator.comparing(StockReservationRequest.ReservationItem::getDishId,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        boolean allReserved = true;
+        for (StockReservationRequest.ReservationItem item : items) {
+            StockReservationResponse.ItemResult result = new StockReservationResponse.ItemResult();
+            result.setDishId(item.getDishId());
+            result.setQuantity(item.getQuantity());
+
+            if (item.getDishId() == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                result.setMessage("Invalid reservation item");
+            } else if (dishRepository.decrementStock(item.getDishId(), item.getQuantity()) == 1) {
+                result.setReserved(true);
+            } else {
+                result.setMessage("Dish not found or insufficient stock");
+            }
+
+            allReserved &= result.isReserved();
+            response.getItems().add(result);
+        }
+
+        if (allReserved) {
+            List<Long> dishIds = items.stream()
+                    .map(StockReservationRequest.ReservationItem::getDishId)
+                    .toList();
+            // The decrements above hold these rows' locks, so exactly these dishes get flipped below
+            List<Long> soldOutIds = dishRepository.findSellingOutIds(dishIds);
+            if (request.getOrderId() != null) {
+                StockReservation reservation = new StockReservation();
+                reservation.setOrderId(request.getOrderId());
+                reservation.setStatus(StockReservation.Status.RESERVED);
+                reservation.setItems(items);
+                reservation.setSoldOutDishIds(new ArrayList<>(soldOutIds));
+                // Flush now so the unique order_id key rejects a concurrent duplicate before commit
+                stockReservationRepository.saveAndFlush(reservation);
+            }
+            // Plain stock decrements are not announced; cached availability only changes on a sell-out
+            boolean soldOut = !soldOutIds.isEmpty() && dishRepository.markSoldOut(soldOutIds) > 0;
+            if (soldOut) {
+                dishEventPublisher.publishDishesChanged(dishIds, DishChangedEvent.ChangeType.SOLD_OUT);
+            }
+            evictDishes(dishIds, soldOut);
+        } else {
+            // Give back what was taken so a partial reservation leaves stock untouched
+            for (StockReservationResponse.ItemResult result : response.getItems()) {
+                if (result.isReserved()) {
+                    dishRepository.incrementStock(result.getDishId(), result.getQuantity());
+                    result.setReserved(false);
+                    result.setMessage("Released because the order could not be fully reserved");
+                }
+            }
+            logger.warn("Stock reservation failed for order: {}", request.getOrderId());
+        }
+
+        response.setSuccess(allReserved);
+        return response;
+    }
+
+    /**
+     * Gives back the stock reserved for an order. Repeating it is a no-op, and releasing an order
+     * that has no reservation yet makes a later reservation for it fail.
+     */
+    @Override
+    @Transactional
+    public StockReservationResponse releaseStock(Long orderId) {
+        StockReservationResponse response = new StockReservationResponse();
+        response.setOrderId(orderId);
+        response.setSuccess(true);
+
+        Optional<StockReservation> existing = stockReservationRepository.findByOrderIdForUpdate(orderId);
+        if (existing.isEmpty()) {
+            // Leave a released marker so a reservation for this order that is still in flight is refused
+            StockReservation released = new StockReservation();
+            released.setOrderId(orderId);
+            released.setStatus(StockReservation.Status.RELEASED);
+            stockReservationRepository.saveAndFlush(released);
+            response.setMessage("Nothing was reserved for this order");
+            return response;
+        }
+
+        StockReservation reservation = existing.get();
+        if (reservation.getStatus() == StockReservation.Status.RELEASED) {
+            logger.info("Stock for order {} was already released, skipping", orderId);
+            response.setReplayed(true);
+            return response;
+        }
+
+        // Same row order as reserveStock
+        List<StockReservationRequest.ReservationItem> items = new ArrayList<>(reservation.getItems());
+        items.sort(Comparator.comparing(StockReservationRequest.ReservationItem::getDishId));
+        for (StockReservationRequest.ReservationItem item : items) {
+            dishRepository.incrementStock(item.getDishId(), item.getQuantity());
+
+            StockReservationResponse.ItemResult result = new StockReservationResponse.ItemResult();
+            result.setDishId(item.getDishId());
+            result.setQuantity(item.getQuantity());
+            result.setMessage("Released");
+            response.getItems().add(result);
+        }
+
+        reservation.setStatus(StockReservation.Status.RELEASED);
+        stockReservationRepository.save(reservation);
+        List<Long> dishIds = items.stream().map(StockReservationRequest.ReservationItem::getDishId).toList();
+        // Only dishes this order sold out can be ordered again; ones the seller disabled stay off
+        List<Long> soldOutIds = reservation.getSoldOutDishIds();
+        boolean madeAvailable = soldOutIds != null && !soldOutIds.isEmpty()
+                && dishRepository.markAvailable(soldOutIds) > 0;
+        dishEventPublisher.publishDishesChanged(dishIds, madeAvailable
+                ? DishChangedEvent.ChangeType.AVAILABILITY
+                : DishChangedEvent.ChangeType.STOCK);
+        evictDishes(dishIds, madeAvailable);
+        logger.info("Released stock reserved for order: {}", orderId);
+        return response;
+    }
+
+    /**
+     * Evicts the given dishes and their sellers' lists. The catalog lists are only evicted when
+     * availability changed; a quantity change there waits for dish.cache.list-ttl-seconds.
+     * The cache manager is transaction aware, so this happens after commit.
+     */
+    private void evictDishes(Collection<Long> dishIds, boolean availabilityChanged) {
+        Cache dishes = cacheManager.getCache(CacheConfig.DISH_CACHE);
+        dishIds.forEach(dishes::evict);
+        Cache sellerDishes = cacheManager.getCache(CacheConfig.SELLER_DISHES_CACHE);
+        dishRepository.findSellerIds(dishIds).forEach(sellerDishes::evict);
+
+        if (availabilityChanged) {
+            cacheManager.getCache(CacheConfig.ALL_DISHES_CACHE).clear();
+            cacheManager.getCache(CacheConfig.DISH_PAGES_CACHE).clear();
+        }
     }
-} 
\ No newline at end of file
+}
@@ -1,6 +1,11 @@
 package com.dishes.dishservice.service.ejb;
 
+import com.dishes.contracts.dto.StockReservationRequest;
+import com.dishes.contracts.dto.StockReservationResponse;
+import com.dishes.dishservice.dto.DishSearchCriteria;
 import com.dishes.dishservice.model.Dish;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -9,11 +14,15 @@ import java.util.List;
  */
 public interface DishServiceLocal {
     List<Dish> getAllDishes();
+    Page<Dish> searchDishes(DishSearchCriteria criteria, Pageable pageable);
     Dish getDish(Long id);
+    List<Dish> getDishesByIds(List<Long> ids);
     List<Dish> getDishesBySeller(Long sellerId);
     Dish createDish(Dish dish);
     Dish updateDish(Dish dish);
     Dish updateStock(Long id, Integer quantity);
     boolean checkStock(Long id, Integer requestedQuantity);
     Dish updateAvailability(Long id, boolean available);
+    StockReservationResponse reserveStock(StockReservationRequest request);
+    StockReservationResponse releaseStock(Long orderId);
 } 
\ No newline at end of file
@@ -1,14 +1,27 @@
 package com.dishes.dishservice.service.ejb;
 
+import com.dishes.contracts.dto.DishChangedEvent;
+import com.dishes.contracts.dto.StockReservationRequest;
+import com.dishes.contracts.dto.StockReservationResponse;
+import com.dishes.dishservice.dto.DishSearchCriteria;
 import com.dishes.dishservice.model.Dish;
+import com.dishes.dishservice.model.StockReservation;
 import com.dishes.dishservice.repository.DishRepository;
+import com.dishes.dishservice.repository.DishSpecifications;
+import com.dishes.dishservice.repository.StockReservationRepository;
+import com.dishes.dishservice.service.DishEventPublisher;
 import jakarta.ejb.Stateless;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import jakarta.transaction.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Stateless Session Bean implementation of the DishService
@@ -20,17 +33,33 @@ public class StatelessDishServiceBean implements DishServiceLocal {
     @Inject
     private DishRepository dishRepository;
 
+    @Inject
+    private StockReservationRepository stockReservationRepository;
+
+    @Inject
+    private DishEventPublisher dishEventPublisher;
+
     @Override
     public List<Dish> getAllDishes() {
         return dishRepository.findAll();
     }
 
+    @Override
+    public Page<Dish> searchDishes(DishSearchCriteria criteria, Pageable pageable) {
+        return dishRepository.findAll(DishSpecifications.matching(criteria), pageable);
+    }
+
     @Override
     public Dish getDish(Long id) {
         return dishRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Dish not found"));
     }
 
+    @Override
+    public List<Dish> getDishesByIds(List<Long> ids) {
+        return dishRepository.findAllById(ids);
+    }
+
     @Override
     public List<Dish> getDishesBySeller(Long sellerId) {
         return dishRepository.findBySellerId(sellerId);
@@ -44,7 +73,9 @@ public class StatelessDishServiceBean implements DishServiceLocal {
     @Override
     @Transactional
     public Dish updateDish(Dish dish) {
-        return dishRepository.save(dish);
+        Dish savedDish = dishRepository.save(dish);
+        dishEventPublisher.publishDishChanged(savedDish.getId(), DishChangedEvent.ChangeType.UPDATED);
+        return savedDish;
     }
 
     @Override
@@ -58,7 +89,9 @@ public class StatelessDishServiceBean implements DishServiceLocal {
             dish.setAvailable(false);
         }
         
-        return dishRepository.save(dish);
+        Dish savedDish = dishRepository.save(dish);
+        dishEventPublisher.publishDishChanged(id, DishChangedEvent.ChangeType.STOCK);
+        return savedDish;
     }
 
     @Override
@@ -89,6 +122,132 @@ public class StatelessDishServiceBean implements DishServiceLocal {
     public Dish updateAvailability(Long id, boolean available) {
         Dish dish = getDish(id);
         dish.setAvailable(available);
-        return dishRepository.save(dish);
+        Dish savedDish = dishRepository.save(dish);
+        dishEventPublisher.publishDishChanged(id, DishChangedEvent.ChangeType.AVAILABILITY);
+        return savedDish;
+    }
+
+    @Override
+    @Transactional
+    public StockReservationResponse reserveStock(StockReservationRequest request) {
+        if (request.getOrderId() != null) {
+            Optional<StockReservation> existing = stockReservationRepository.findByOrderId(request.getOrderId());
+            if (existing.isPresent()) {
+                logger.info("Order {} already has a {} reservation, skipping", request.getOrderId(), existing.get().getStatus());
+                return existing.get().toReplayedResponse();
+            }
+        }
+
+        StockReservationResponse response = new StockReservationResponse();
+        response.setOrderId(request.getOrderId());
+
+        // Update rows in a stable order so concurrent reservations cannot deadlock
+        List<StockReservationRequest.ReservationItem> items = new ArrayList<>(request.getItems());
+        items.sort(Comparator.comparing(StockReservationRequest.ReservationItem::getDishId,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        boolean allReserved = true;
+        for (StockReservationRequest.ReservationItem item : items) {
+            StockReservationResponse.ItemResult result = new StockReservationResponse.ItemResult();
+            result.setDishId(item.getDishId());
+            result.setQuantity(item.getQuantity());
+
+            if (item.getDishId() == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                result.setMessage("Invalid reservation item");
+            } else if (dishRepository.decrementStock(item.getDishId(), item.getQuantity()) == 1) {
+                result.setReserved(true);
+            } else {
+                result.setMessage("Dish not found or insufficient stock");
+            }
+
+            allReserved &= result.isReserved();
+            response.getItems().add(result);
+        }
+
+        if (allReserved) {
+            List<Long> dishIds = items.stream()
+                    .map(StockReservationRequest.ReservationItem::getDishId)
+                    .toList();
+            // The decrements above hold these rows' locks, so exactly these dishes get flipped below
+            List<Long> soldOutIds = dishRepository.findSellingOutIds(dishIds);
+            if (request.getOrderId() != null) {
+                StockReservation reservation = new StockReservation();
+                reservation.setOrderId(request.getOrderId());
+                reservation.setStatus(StockReservation.Status.RESERVED);
+                reservation.setItems(items);
+                reservation.setSoldOutDishIds(new ArrayList<>(soldOutIds));
+                // Flush now so the unique order_id key rejects a concurrent duplicate before commit
+                stockReservationRepository.saveAndFlush(reservation);
+            }
+            // Plain stock decrements are not announced; cached availability only changes on a sell-out
+            if (!soldOutIds.isEmpty() && dishRepository.markSoldOut(soldOutIds) > 0) {
+                dishEventPublisher.publishDishesChanged(dishIds, DishChangedEvent.ChangeType.SOLD_OUT);
+            }
+        } else {
+            // Give back what was taken so a partial reservation leaves stock untouched
+            for (StockReservationResponse.ItemResult result : response.getItems()) {
+                if (result.isReserved()) {
+                    dishRepository.incrementStock(result.getDishId(), result.getQuantity());
+                    result.setReserved(false);
+                    result.setMessage("Released because the order could not be fully reserved");
+                }
+            }
+            logger.warn("Stock reservation failed for order: {}", request.getOrderId());
+        }
+
+        response.setSuccess(allReserved);
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public StockReservationResponse releaseStock(Long orderId) {
+        StockReservationResponse response = new StockReservationResponse();
+        response.setOrderId(orderId);
+        response.setSuccess(true);
+
+        Optional<StockReservation> existing = stockReservationRepository.findByOrderIdForUpdate(orderId);
+        if (existing.isEmpty()) {
+            // Leave a released marker so a reservation for this order that is still in flight is refused
+            StockReservation released = new StockReservation();
+            released.setOrderId(orderId);
+            released.setStatus(StockReservation.Status.RELEASED);
+            stockReservationRepository.saveAndFlush(released);
+            response.setMessage("Nothing was reserved for this order");
+            return response;
+        }
+
+        StockReservation reservation = existing.get();
+        if (reservation.getStatus() == StockReservation.Status.RELEASED) {
+            logger.info("Stock for order {} was already released, skipping", orderId);
+            response.setReplayed(true);
+            return response;
+        }
+
+        // Same row order as reserveStock
+        List<StockReservationRequest.ReservationItem> items = new ArrayList<>(reservation.getItems());
+        items.sort(Comparator.comparing(StockReservationRequest.ReservationItem::getDishId));
+        for (StockReservationRequest.ReservationItem item : items) {
+            dishRepository.incrementStock(item.getDishId(), item.getQuantity());
+
+            StockReservationResponse.ItemResult result = new StockReservationResponse.ItemResult();
+            result.setDishId(item.getDishId());
+            result.setQuantity(item.getQuantity());
+            result.setMessage("Released");
+            response.getItems().add(result);
+        }
+
+        reservation.setStatus(StockReservation.Status.RELEASED);
+        stockReservationRepository.save(reservation);
+        List<Long> dishIds = items.stream().map(StockReservationRequest.ReservationItem::getDishId).toList();
+        // Only dishes this order sold out can be ordered again; ones the seller disabled stay off
+        List<Long> soldOutIds = reservation.getSoldOutDishIds();
+        boolean madeAvailable = soldOutIds != null && !soldOutIds.isEmpty()
+                && dishRepository.markAvailable(soldOutIds) > 0;
+        dishEventPublisher.publishDishesChanged(dishIds, madeAvailable
+                ? DishChangedEvent.ChangeType.AVAILABILITY
+                : DishChangedEvent.ChangeType.STOCK);
+        logger.info("Released stock reserved for order: {}", orderId);
+        return response;
     }
-} 
\ No newline at end of file
+}
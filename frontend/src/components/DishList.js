@@ -1,8 +1,12 @@
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
 
+const PAGE_SIZE = 20;
+
 function DishList() {
   const [dishes, setDishes] = useState([]);
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
   const [newDish, setNewDish] = useState({
     name: '',
     description: '',
@@ -11,13 +15,14 @@ function DishList() {
   });
 
   useEffect(() => {
-    fetchDishes();
-  }, []);
+    fetchDishes(page);
+  }, [page]);
 
-  const fetchDishes = async () => {
+  const fetchDishes = async (pageNumber) => {
     try {
-      const response = await axios.get('http://localhost:8082/api/dishes');
-      setDishes(response.data);
+      const response = await axios.get('http://localhost:8082/api/dishes', { params: { page: pageNumber, size: PAGE_SIZE } });
+      setDishes(response.data.content);
+      setTotalPages(response.data.totalPages);
     } catch (error) {
       console.error('Error fetching dishes:', error);
     }
@@ -34,7 +39,7 @@ function DishList() {
         quantity: parseInt(newDish.quantity)
       });
       setNewDish({ name: '', description: '', price: '', quantity: '' });
-      fetchDishes();
+      fetchDishes(page);
     } catch (error) {
       alert('Error adding dish: ' + error.message);
     }
@@ -107,6 +112,19 @@ function DishList() {
           </div>
         ))}
       </div>
+
+      {/* Page Controls */}
+      {totalPages > 1 && (
+        <div style={{ display: 'flex', alignItems: 'center', gap: '1rem', marginTop: '1rem' }}>
+          <button onClick={() => setPage(page - 1)} disabled={page === 0} style={{ padding: '0.5rem' }}>
+            Previous
+          </button>
+          <span>Page {page + 1} of {totalPages}</span>
+          <button onClick={() => setPage(page + 1)} disabled={page + 1 >= totalPages} style={{ padding: '0.5rem' }}>
+            Next
+          </button>
+        </div>
+      )}
     </div>
   );
 }
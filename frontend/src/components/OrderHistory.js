@@ -16,8 +16,8 @@ const OrderHistory = () => {
 
     const fetchOrders = async () => {
         try {
-            const response = await orderService.getUserOrders();
-            setOrders(response);
+            const page = await orderService.getUserOrders();
+            setOrders(page.orders);
         } catch (err) {
             setError(err.message || 'Failed to fetch orders');
         } finally {
@@ -16,7 +16,7 @@ function OrderList() {
       const token = localStorage.getItem('token');
       
       const response = await axios.get(`http://localhost:8084/api/orders/customer/${user.id}`);
-      setOrders(response.data);
+      setOrders(response.data.orders);
     } catch (error) {
       console.error('Error fetching orders:', error);
     } finally {
@@ -36,7 +36,7 @@ function OrderList() {
             <p>Created At: {new Date(order.createdAt).toLocaleString()}</p>
             <div>
               <h4>Items:</h4>
-              {order.orderItems.map(item => (
+              {order.items.map(item => (
                 <div key={item.id} style={{ marginLeft: '1rem' }}>
                   <p>Dish ID: {item.dishId}</p>
                   <p>Quantity: {item.quantity}</p>
@@ -21,11 +21,8 @@ const SalesHistory = () => {
                 return;
             }
 
-            // Fetch orders for this seller
-            const response = await orderService.getOrdersBySeller(sellerId);
-            
-            // Filter to only show orders with PAID payment status
-            const paidOrders = response.filter(order => order.paymentStatus === 'PAID');
+            // Fetch every paid order for this seller
+            const paidOrders = await orderService.getAllOrdersBySeller(sellerId, { paymentStatus: 'PAID' });
             
             // Transform orders to ensure they have all required properties
             const transformedOrders = paidOrders.map(order => ({
@@ -4,22 +4,26 @@ import Cart from '../components/Cart';
 import { getRandomFoodImage } from '../utils/foodImages';
 import './Dishes.css';
 
+const PAGE_SIZE = 20;
+
 const Dishes = () => {
   const [dishes, setDishes] = useState([]);
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [cartItems, setCartItems] = useState([]);
 
   useEffect(() => {
-    fetchDishes();
-  }, []);
+    fetchDishes(page);
+  }, [page]);
 
-  const fetchDishes = async () => {
+  const fetchDishes = async (pageNumber) => {
     try {
       setLoading(true);
-      const data = await dishService.getAllDishes();
+      const data = await dishService.getAllDishes({ page: pageNumber, size: PAGE_SIZE });
       // Handle the circular reference by extracting unique dishes
-      const uniqueDishes = Array.isArray(data) ? data.map(dish => ({
+      const uniqueDishes = Array.isArray(data?.content) ? data.content.map(dish => ({
         id: dish.id,
         name: dish.name,
         description: dish.description,
@@ -41,6 +45,7 @@ const Dishes = () => {
       });
       
       setDishes(Array.from(uniqueDishesMap.values()));
+      setTotalPages(data?.totalPages || 0);
       setError('');
     } catch (err) {
       console.error('Error fetching dishes:', err);
@@ -108,6 +113,17 @@ const Dishes = () => {
             <div className="no-dishes">No dishes available at the moment.</div>
           )}
         </div>
+        {totalPages > 1 && (
+          <div className="dishes-pagination">
+            <button onClick={() => setPage(page - 1)} disabled={page === 0}>
+              Previous
+            </button>
+            <span>Page {page + 1} of {totalPages}</span>
+            <button onClick={() => setPage(page + 1)} disabled={page + 1 >= totalPages}>
+              Next
+            </button>
+          </div>
+        )}
       </div>
       <div className="cart-container">
         <Cart items={cartItems} onOrderComplete={handleOrderComplete} />
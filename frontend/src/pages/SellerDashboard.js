@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
 import SalesHistory from '../components/SalesHistory';
+import { fetchAllSellerOrders } from '../services/orderService';
 import './SellerDashboard.css';
 
 const SellerDashboard = () => {
@@ -113,16 +114,14 @@ const SellerDashboard = () => {
                 return;
             }
             
-            const response = await axios.get(`http://localhost:8084/api/orders/seller/${userId}`, {
+            // The API now returns SellerOrderDTO objects with sellerItems instead of items
+            const fetchedOrders = await fetchAllSellerOrders(`http://localhost:8084/api/orders/seller/${userId}`, {
                 headers: {
                     'Authorization': `Bearer ${localStorage.getItem('token')}`,
                     'X-User-Id': userId
                 }
             });
             
-            // The API now returns SellerOrderDTO objects with sellerItems instead of items
-            const fetchedOrders = response.data;
-            
             // Transform the data to maintain backward compatibility with our UI
             const transformedOrders = fetchedOrders.map(order => ({
                 ...order,
@@ -148,30 +147,26 @@ const SellerDashboard = () => {
             // Get completed orders from the API
             let completedOrders = [];
             try {
-                const response = await axios.get(`http://localhost:8084/api/orders/seller/${userId}`, {
+                completedOrders = await fetchAllSellerOrders(`http://localhost:8084/api/orders/seller/${userId}`, {
                     headers: { 
                         'Authorization': `Bearer ${localStorage.getItem('token')}`,
                         'X-User-Id': userId
                     },
+                    params: { status: 'COMPLETED' },
                     timeout: 5000
                 });
-                
-                // Filter for completed orders, note the API returns SellerOrderDTO objects
-                completedOrders = response.data.filter(order => order.status === 'COMPLETED');
             } catch (primaryError) {
                 console.error('Error fetching completed orders from primary endpoint:', primaryError);
                 
                 // Try gateway if direct call fails
-                const response = await axios.get(`http://localhost:8081/api/orders/seller/${userId}`, {
+                completedOrders = await fetchAllSellerOrders(`http://localhost:8081/api/orders/seller/${userId}`, {
                     headers: { 
                         'Authorization': `Bearer ${localStorage.getItem('token')}`,
                         'X-User-Id': userId
                     },
+                    params: { status: 'COMPLETED' },
                     timeout: 5000
                 });
-                
-                // Filter for completed orders
-                completedOrders = response.data.filter(order => order.status === 'COMPLETED');
             }
             
             // Transform orders into sold dishes format
@@ -12,9 +12,10 @@ const getAuthHeader = () => {
 };
 
 export const dishService = {
-    getAllDishes: async () => {
+    // Returns one page of the catalog; params: page, size, sort, category, sellerId, available, minPrice, maxPrice
+    getAllDishes: async (params = {}) => {
         try {
-            const response = await axios.get(API_URL);
+            const response = await axios.get(API_URL, { params });
             return response.data;
         } catch (error) {
             throw error.response?.data || error.message;
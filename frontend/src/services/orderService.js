@@ -16,6 +16,25 @@ const getAuthHeader = () => {
     };
 };
 
+const SELLER_ORDERS_PAGE_SIZE = 100;
+
+// The seller endpoint is paged, so keep requesting pages until the last one
+export const fetchAllSellerOrders = async (url, config) => {
+    const orders = [];
+    let page = 0;
+    let last = false;
+    while (!last) {
+        const response = await axios.get(url, {
+            ...config,
+            params: { ...config.params, page, size: SELLER_ORDERS_PAGE_SIZE }
+        });
+        orders.push(...response.data.content);
+        last = response.data.last !== false;
+        page++;
+    }
+    return orders;
+};
+
 export const orderService = {
     createOrder: async (items) => {
         try {
@@ -26,9 +45,10 @@ export const orderService = {
         }
     },
 
-    getUserOrders: async () => {
+    // Returns { orders, nextCursor, hasMore }; pass nextCursor back to load older orders
+    getUserOrders: async (cursor) => {
         try {
-            const response = await axios.get(API_URL, getAuthHeader());
+            const response = await axios.get(API_URL, { ...getAuthHeader(), params: cursor ? { cursor } : {} });
             return response.data;
         } catch (error) {
             throw error.response?.data || error.message;
@@ -65,10 +85,20 @@ export const orderService = {
         }
     },
 
-    getOrdersBySeller: async (sellerId) => {
+    // Returns the seller's orders, newest first; params: page, size, status
+    getOrdersBySeller: async (sellerId, params = {}) => {
         try {
-            const response = await axios.get(`${API_URL}/seller/${sellerId}`, getAuthHeader());
-            return response.data;
+            const response = await axios.get(`${API_URL}/seller/${sellerId}`, { ...getAuthHeader(), params });
+            return response.data.content;
+        } catch (error) {
+            throw error.response?.data || error.message;
+        }
+    },
+
+    // Every page of the seller's orders, e.g. { paymentStatus: 'PAID' }
+    getAllOrdersBySeller: async (sellerId, params = {}) => {
+        try {
+            return await fetchAllSellerOrders(`${API_URL}/seller/${sellerId}`, { ...getAuthHeader(), params });
         } catch (error) {
             throw error.response?.data || error.message;
         }
@@ -0,0 +1,249 @@
+package com.dishes.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logs to the console and ships the same entries to the log exchange, routed as
+ * "ServiceName_Severity". Callers only append to a bounded in-memory buffer; a background thread
+ * publishes what has accumulated, one message per routing key per batch, so logging never waits on
+ * the broker. When the buffer is full an entry is dropped, or with overflow=BLOCK the caller waits up
+ * to block-timeout-ms for space first. Without a RabbitTemplate entries only go to the console.
+ * The counts are exported as log.shipping.entries and log.shipping.buffered.
+ * Each service extends this with a bean that names the service and supplies its template.
+ */
+public abstract class LogShipper implements MeterBinder {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final String serviceName;
+    private final String exchange;
+
+    @Value("${log-shipping.capacity:8192}")
+    private int capacity;
+
+    @Value("${log-shipping.batch-size:256}")
+    private int batchSize;
+
+    @Value("${log-shipping.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${log-shipping.overflow:DROP}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${log-shipping.block-timeout-ms:50}")
+    private long blockTimeoutMs;
+
+    // Lock-free queue, bounded by the separate size count
+    private final ConcurrentLinkedQueue<LogEntry> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private long reportedDropped;
+
+    private volatile boolean running;
+    private Thread publisher;
+
+    public enum LogSeverity {
+        INFO, WARNING, ERROR
+    }
+
+    public enum OverflowPolicy {
+        DROP, BLOCK
+    }
+
+    private record LogEntry(String routingKey, String message) {
+    }
+
+    protected LogShipper(String serviceName, String exchange) {
+        this.serviceName = serviceName;
+        this.exchange = exchange;
+    }
+
+    /**
+     * Template the batches are published with, or null if RabbitMQ is not available
+     */
+    protected abstract RabbitTemplate rabbitTemplate();
+
+    @PostConstruct
+    public void start() {
+        // Without RabbitMQ entries only go to the console
+        if (rabbitTemplate() == null) {
+            return;
+        }
+        running = true;
+        publisher = new Thread(this::publishLoop, "log-shipper");
+        publisher.setDaemon(true);
+        publisher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (publisher == null) {
+            return;
+        }
+        // The publisher drains what is left before it exits
+        running = false;
+        LockSupport.unpark(publisher);
+        publisher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public void log(LogSeverity severity, String message) {
+        // Log to console
+        switch (severity) {
+            case INFO:
+                logger.info(message);
+                break;
+            case WARNING:
+                logger.warn(message);
+                break;
+            case ERROR:
+                logger.error(message);
+                break;
+        }
+
+        // Format routing key as "ServiceName_Severity"
+        String routingKey = serviceName + "_" + severity.name();
+
+        // Queue for the log exchange only if RabbitMQ is available
+        if (publisher != null) {
+            enqueue(new LogEntry(routingKey, message));
+        }
+    }
+
+    public void logInfo(String message) {
+        log(LogSeverity.INFO, message);
+    }
+
+    public void logWarning(String message) {
+        log(LogSeverity.WARNING, message);
+    }
+
+    public void logError(String message) {
+        log(LogSeverity.ERROR, message);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("log.shipping.entries", published, AtomicLong::get)
+                .tag("result", "published").register(registry);
+        FunctionCounter.builder("log.shipping.entries", dropped, AtomicLong::get)
+                .tag("result", "dropped").register(registry);
+        FunctionCounter.builder("log.shipping.entries", failed, AtomicLong::get)
+                .tag("result", "failed").register(registry);
+        Gauge.builder("log.shipping.buffered", size, AtomicInteger::get).register(registry);
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public int getBufferedCount() {
+        return size.get();
+    }
+
+    private void enqueue(LogEntry entry) {
+        if (tryAppend(entry)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+            while (System.nanoTime() < deadline) {
+                LockSupport.unpark(publisher);
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                if (tryAppend(entry)) {
+                    return;
+                }
+            }
+        }
+        dropped.incrementAndGet();
+    }
+
+    private boolean tryAppend(LogEntry entry) {
+        int newSize = size.incrementAndGet();
+        if (newSize > capacity) {
+            size.decrementAndGet();
+            return false;
+        }
+        buffer.offer(entry);
+        if (newSize == batchSize) {
+            // A full batch is waiting, no need to sit out the flush interval
+            LockSupport.unpark(publisher);
+        }
+        return true;
+    }
+
+    private void publishLoop() {
+        while (running || !buffer.isEmpty()) {
+            List<LogEntry> batch = new ArrayList<>(Math.min(batchSize, size.get()));
+            LogEntry entry;
+            while (batch.size() < batchSize && (entry = buffer.poll()) != null) {
+                batch.add(entry);
+            }
+            size.addAndGet(-batch.size());
+
+            if (batch.isEmpty()) {
+                reportDrops();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+            } else {
+                publish(batch);
+            }
+        }
+        reportDrops();
+    }
+
+    private void publish(List<LogEntry> batch) {
+        // One message per routing key, each line an entry, all sent on one channel
+        Map<String, StringJoiner> byRoutingKey = new LinkedHashMap<>();
+        for (LogEntry entry : batch) {
+            byRoutingKey.computeIfAbsent(entry.routingKey(), key -> new StringJoiner("\n")).add(entry.message());
+        }
+        try {
+            rabbitTemplate().invoke(operations -> {
+                byRoutingKey.forEach((routingKey, lines) ->
+                        operations.convertAndSend(exchange, routingKey, lines.toString()));
+                return null;
+            });
+            published.addAndGet(batch.size());
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            logger.warn("Failed to ship {} log entries to RabbitMQ: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void reportDrops() {
+        long total = dropped.get();
+        if (total > reportedDropped) {
+            logger.warn("Log buffer full, {} entries not shipped ({} in total)", total - reportedDropped, total);
+            reportedDropped = total;
+        }
+    }
+}
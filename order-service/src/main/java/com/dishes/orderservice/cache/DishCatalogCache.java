@@ -0,0 +1,73 @@
+package com.dishes.orderservice.cache;
+
+import com.dishes.contracts.dto.DishDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * In-process cache of dish details fetched from dish-service.
+ * Entries are bounded in number and expire after a TTL; dish-service change events evict them earlier.
+ * Only fit for name, price, seller and availability: stock is decided by the reservation call.
+ */
+@Component
+public class DishCatalogCache {
+
+    @Value("${dish.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${dish.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<Long, DishDTO> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dishCatalog");
+    }
+
+    /**
+     * @return the cached dishes among the given IDs, keyed by ID
+     */
+    public Map<Long, DishDTO> getAll(Collection<Long> dishIds) {
+        return cache.getAllPresent(dishIds);
+    }
+
+    public void putAll(Map<Long, DishDTO> dishes) {
+        cache.putAll(dishes);
+    }
+
+    public void evictAll(Collection<Long> dishIds) {
+        cache.invalidateAll(dishIds);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,121 @@
+package com.dishes.orderservice.client;
+
+import com.dishes.contracts.dto.DishDTO;
+import com.dishes.contracts.dto.OrderValidationMessage;
+import com.dishes.contracts.dto.StockReservationRequest;
+import com.dishes.contracts.dto.StockReservationResponse;
+import com.dishes.orderservice.cache.DishCatalogCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Client for dish-service calls that work on a whole order or cart in a single request
+ */
+@Component
+public class DishServiceClient {
+    private static final Logger logger = LoggerFactory.getLogger(DishServiceClient.class);
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private DishCatalogCache dishCatalogCache;
+
+    @Value("${services.dish-service.url:http://dish-service}/api/dishes")
+    private String dishServiceUrl;
+
+    /**
+     * Resolves the given dishes for display and pricing, serving what it can from the dish cache
+     * and fetching the rest with one bulk call. Quantities may be stale; use fetchDishes for stock.
+     * @param dishIds IDs to resolve, duplicates are collapsed
+     * @return dishes keyed by ID; IDs unknown to dish-service are absent
+     */
+    public Map<Long, DishDTO> getDishes(Collection<Long> dishIds) {
+        if (dishIds == null || dishIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Set<Long> uniqueIds = new LinkedHashSet<>(dishIds);
+        Map<Long, DishDTO> dishesById = new LinkedHashMap<>(dishCatalogCache.getAll(uniqueIds));
+        if (dishesById.size() < uniqueIds.size()) {
+            List<Long> missing = uniqueIds.stream()
+                    .filter(id -> !dishesById.containsKey(id))
+                    .toList();
+            dishesById.putAll(fetchDishes(missing));
+        }
+        return dishesById;
+    }
+
+    /**
+     * Fetches the given dishes from dish-service with one bulk call, bypassing and refreshing the dish cache
+     * @param dishIds IDs to resolve, duplicates are collapsed
+     * @return dishes keyed by ID; IDs unknown to dish-service are absent
+     */
+    public Map<Long, DishDTO> fetchDishes(Collection<Long> dishIds) {
+        if (dishIds == null || dishIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        String ids = new LinkedHashSet<>(dishIds).stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        String url = UriComponentsBuilder.fromHttpUrl(dishServiceUrl)
+                .queryParam("ids", ids)
+                .toUriString();
+
+        DishDTO[] dishes = restTemplate.getForObject(url, DishDTO[].class);
+
+        Map<Long, DishDTO> dishesById = new LinkedHashMap<>();
+        if (dishes != null) {
+            for (DishDTO dish : dishes) {
+                dishesById.put(dish.getId(), dish);
+            }
+        }
+        dishCatalogCache.putAll(dishesById);
+        logger.debug("Resolved {} of {} requested dishes", dishesById.size(), dishIds.size());
+        return dishesById;
+    }
+
+    /**
+     * Reserves stock for all items of an order in one dish-service transaction
+     * @param orderId The order the stock is reserved for
+     * @param items The order items to reserve
+     * @return per-item reservation results; nothing is reserved unless success is true
+     */
+    public StockReservationResponse reserveStock(Long orderId, List<OrderValidationMessage.OrderItemInfo> items) {
+        StockReservationRequest request = new StockReservationRequest();
+        request.setOrderId(orderId);
+        for (OrderValidationMessage.OrderItemInfo item : items) {
+            StockReservationRequest.ReservationItem reservationItem = new StockReservationRequest.ReservationItem();
+            reservationItem.setDishId(item.getDishId());
+            reservationItem.setQuantity(item.getQuantity());
+            request.getItems().add(reservationItem);
+        }
+
+        return restTemplate.postForObject(dishServiceUrl + "/reservations", request, StockReservationResponse.class);
+    }
+
+    /**
+     * Gives back the stock reserved for an order. A no-op if it was already released, and if nothing
+     * was reserved yet a later reservation for the order is refused.
+     * @param orderId The order whose reservation is released
+     */
+    public StockReservationResponse releaseStock(Long orderId) {
+        return restTemplate.postForObject(dishServiceUrl + "/reservations/" + orderId + "/release", null,
+                StockReservationResponse.class);
+    }
+}
@@ -0,0 +1,55 @@
+package com.dishes.orderservice.client;
+
+import com.dishes.contracts.dto.BalanceDebitResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Client for user-service balance operations
+ */
+@Component
+public class UserServiceClient {
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Value("${services.user-service.url:http://user-service}/api/users")
+    private String userServiceUrl;
+
+    /**
+     * Checks and debits a user's balance in one call, so no separate balance lookup is needed.
+     * The debit is keyed by order ID, so retries and redeliveries charge the order only once.
+     * @param userId The user to charge
+     * @param amount The amount to debit
+     * @param orderId The order being paid for
+     * @return the new balance on success, or the current balance with success=false on insufficient funds
+     */
+    public BalanceDebitResponse debitBalance(Long userId, BigDecimal amount, Long orderId) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("amount", amount);
+        payload.put("orderId", orderId);
+
+        return restTemplate.postForObject(
+            userServiceUrl + "/" + userId + "/balance/debit", payload, BalanceDebitResponse.class);
+    }
+
+    /**
+     * Refunds what an order was debited. Refunds once per order, and if the order was not debited
+     * yet a later debit for it is refused.
+     * @param userId The user who paid for the order
+     * @param orderId The order to refund
+     */
+    public BalanceDebitResponse refundBalance(Long userId, Long orderId) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("orderId", orderId);
+
+        return restTemplate.postForObject(
+            userServiceUrl + "/" + userId + "/balance/refund", payload, BalanceDebitResponse.class);
+    }
+}
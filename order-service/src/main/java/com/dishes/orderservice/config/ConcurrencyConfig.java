@@ -0,0 +1,35 @@
+package com.dishes.orderservice.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ConcurrencyConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${order.inter-service.pool-size:32}")
+    private int interServicePoolSize;
+
+    /**
+     * Executor for independent downstream calls (user info, dish details) that are issued concurrently.
+     * Uses one virtual thread per task when virtual threads are enabled, so blocked I/O costs no platform thread.
+     * Tasks run with the thread-local context of the submitting thread (current observation and span),
+     * so their calls join the trace that started them.
+     */
+    @Bean(name = "interServiceExecutor", destroyMethod = "shutdown")
+    public ExecutorService interServiceExecutor() {
+        ExecutorService executor = virtualThreadsEnabled
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(interServicePoolSize);
+        ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+        return ContextExecutorService.wrap(executor, () -> snapshotFactory.captureAll());
+    }
+}
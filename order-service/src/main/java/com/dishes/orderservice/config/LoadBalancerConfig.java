@@ -0,0 +1,36 @@
+package com.dishes.orderservice.config;
+
+import com.dishes.orderservice.loadbalancer.HealthAwareServiceInstanceListSupplier;
+import com.dishes.orderservice.loadbalancer.InstanceHealthTracker;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Resolves logical service names (http://dish-service, http://user-service) to replicas.
+ * Replicas come from Eureka when it is enabled, otherwise from the static
+ * spring.cloud.discovery.client.simple.instances lists in application.properties.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LoadBalancerConfig.HealthAwareInstanceSelection.class)
+public class LoadBalancerConfig {
+
+    /**
+     * Per-service load balancer configuration. Deliberately not a @Configuration class so component
+     * scanning leaves it to the load balancer's child contexts.
+     */
+    public static class HealthAwareInstanceSelection {
+
+        @Bean
+        public ServiceInstanceListSupplier healthAwareServiceInstanceListSupplier(
+                ConfigurableApplicationContext context, InstanceHealthTracker healthTracker) {
+            // No caching layer: it would also cache the filtered list and keep drained replicas hidden
+            return ServiceInstanceListSupplier.builder()
+                    .withBlockingDiscoveryClient()
+                    .with((ctx, delegate) -> new HealthAwareServiceInstanceListSupplier(delegate, healthTracker))
+                    .build(context);
+        }
+    }
+}
@@ -1,54 +1,96 @@
 package com.dishes.orderservice.config;
 
-import com.dishes.orderservice.dto.OrderValidationMessage;
-import com.dishes.orderservice.service.OrderValidationService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.*;
-import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.rabbit.listener.api.RabbitListenerErrorHandler;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
-import org.springframework.amqp.support.converter.MessageConverter;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.util.ErrorHandler;
+import org.springframework.retry.support.RetryTemplate;
 
 @Configuration
 public class OrderValidationConfig {
-    private static final Logger logger = LoggerFactory.getLogger(OrderValidationConfig.class);
     
     // Exchange names
     public static final String ORDER_VALIDATION_EXCHANGE = "order.validation.exchange";
+    public static final String ORDER_SAGA_DLX = "order.validation.dlx";
     
     // Queue names
-    public static final String STOCK_CHECK_QUEUE = "order.stock.check.queue";
-    public static final String PAYMENT_VALIDATION_QUEUE = "order.payment.validation.queue";
-    public static final String ORDER_COMPLETION_QUEUE = "order.completion.queue";
-    public static final String ORDER_REJECTION_QUEUE = "order.rejection.queue";
+    // One message per new order starts its saga; steps run in OrderSagaOrchestrator, not as queue hops.
+    // Queues are named after the one service that consumes them, so no other service competes for them.
+    public static final String ORDER_SAGA_QUEUE = "order-service.order.saga.queue";
+    // Failed saga messages wait here for redelivery-delay-ms, then expire back onto the saga queue
+    public static final String ORDER_SAGA_DLQ = "order-service.order.saga.dlq";
+    // Fixed TTL of the dead-letter queue, so tuning the delay never changes its declared arguments.
+    // Each message carries its own, shorter expiration; this caps it and covers container rejections.
+    public static final int ORDER_SAGA_DLQ_MAX_TTL_MS = 600_000;
+    // Messages that kept failing after max-redeliveries; replayed by hand once the cause is fixed
+    public static final String ORDER_SAGA_PARKING_LOT_QUEUE = "order-service.order.saga.parking-lot";
     
     // Routing keys
-    public static final String STOCK_CHECK_ROUTING_KEY = "order.stock.check";
-    public static final String PAYMENT_VALIDATION_ROUTING_KEY = "order.payment.validation";
-    public static final String ORDER_COMPLETION_ROUTING_KEY = "order.completion";
-    public static final String ORDER_REJECTION_ROUTING_KEY = "order.rejection";
-    
-    @Autowired
-    private OrderValidationService orderValidationService;
-    
-    // Message converter for RabbitMQ
+    public static final String ORDER_SAGA_ROUTING_KEY = "order.saga";
+    public static final String ORDER_SAGA_PARKED_ROUTING_KEY = "order.saga.parked";
+
+    @Value("${order.saga.listener.concurrency:2}")
+    private int sagaConcurrency;
+
+    @Value("${order.saga.listener.max-concurrency:8}")
+    private int sagaMaxConcurrency;
+
+    @Value("${order.saga.listener.prefetch:20}")
+    private int sagaPrefetch;
+
+    @Value("${order.saga.listener.batch-size:10}")
+    private int sagaBatchSize;
+
+    @Value("${order.saga.listener.batch-receive-timeout-ms:100}")
+    private long sagaBatchReceiveTimeoutMs;
+
+    @Value("${order.saga.retry.max-attempts:3}")
+    private int sagaRetryMaxAttempts;
+
+    @Value("${order.saga.retry.initial-interval-ms:200}")
+    private long sagaRetryInitialIntervalMs;
+
+    @Value("${order.saga.retry.multiplier:2.0}")
+    private double sagaRetryMultiplier;
+
+    @Value("${order.saga.retry.max-interval-ms:2000}")
+    private long sagaRetryMaxIntervalMs;
+    
+    /**
+     * Listener containers for the saga queue. Each consumer takes up to batch-size messages at a time,
+     * waiting at most batch-receive-timeout-ms for more, and extra consumers are added under load.
+     * Other queues keep the spring.rabbitmq.listener.simple.* settings.
+     */
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public SimpleRabbitListenerContainerFactory orderSagaListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(sagaConcurrency);
+        factory.setMaxConcurrentConsumers(sagaMaxConcurrency);
+        factory.setPrefetchCount(Math.max(sagaPrefetch, sagaBatchSize));
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(sagaBatchSize);
+        factory.setReceiveTimeout(sagaBatchReceiveTimeoutMs);
+        // A failed batch goes to the dead-letter queue for a delayed retry rather than straight back to the queue
+        factory.setDefaultRequeueRejected(false);
+        return factory;
     }
-    
+
+    /**
+     * In-process retries of a single saga message, with exponential backoff between attempts.
+     * Applied per message rather than as a container advice, which would retry a whole batch.
+     */
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
-        RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(jsonMessageConverter());
-        return template;
+    public RetryTemplate sagaRetryTemplate() {
+        return RetryTemplate.builder()
+                .maxAttempts(sagaRetryMaxAttempts)
+                .exponentialBackoff(sagaRetryInitialIntervalMs, sagaRetryMultiplier, sagaRetryMaxIntervalMs)
+                .build();
     }
 
     // Define exchange
@@ -56,99 +98,59 @@ public class OrderValidationConfig {
     public DirectExchange orderValidationExchange() {
         return new DirectExchange(ORDER_VALIDATION_EXCHANGE);
     }
-    
-    // Define queues
+
     @Bean
-    public Queue stockCheckQueue() {
-        return new Queue(STOCK_CHECK_QUEUE);
+    public DirectExchange orderSagaDeadLetterExchange() {
+        return new DirectExchange(ORDER_SAGA_DLX);
     }
     
+    // Define queues
     @Bean
-    public Queue paymentValidationQueue() {
-        return new Queue(PAYMENT_VALIDATION_QUEUE);
+    public Queue orderSagaQueue() {
+        // Messages rejected by the container are dead-lettered too, instead of being dropped
+        return QueueBuilder.durable(ORDER_SAGA_QUEUE)
+                .deadLetterExchange(ORDER_SAGA_DLX)
+                .deadLetterRoutingKey(ORDER_SAGA_ROUTING_KEY)
+                .build();
     }
-    
+
     @Bean
-    public Queue orderCompletionQueue() {
-        return new Queue(ORDER_COMPLETION_QUEUE);
+    public Queue orderSagaDeadLetterQueue() {
+        // No consumers: messages expire and are dead-lettered back to the saga queue
+        return QueueBuilder.durable(ORDER_SAGA_DLQ)
+                .ttl(ORDER_SAGA_DLQ_MAX_TTL_MS)
+                .deadLetterExchange(ORDER_VALIDATION_EXCHANGE)
+                .deadLetterRoutingKey(ORDER_SAGA_ROUTING_KEY)
+                .build();
     }
-    
+
     @Bean
-    public Queue orderRejectionQueue() {
-        return new Queue(ORDER_REJECTION_QUEUE);
+    public Queue orderSagaParkingLotQueue() {
+        return QueueBuilder.durable(ORDER_SAGA_PARKING_LOT_QUEUE).build();
     }
     
     // Define bindings
     @Bean
-    public Binding stockCheckBinding() {
-        return BindingBuilder
-                .bind(stockCheckQueue())
-                .to(orderValidationExchange())
-                .with(STOCK_CHECK_ROUTING_KEY);
-    }
-    
-    @Bean
-    public Binding paymentValidationBinding() {
+    public Binding orderSagaBinding() {
         return BindingBuilder
-                .bind(paymentValidationQueue())
+                .bind(orderSagaQueue())
                 .to(orderValidationExchange())
-                .with(PAYMENT_VALIDATION_ROUTING_KEY);
+                .with(ORDER_SAGA_ROUTING_KEY);
     }
-    
+
     @Bean
-    public Binding orderCompletionBinding() {
+    public Binding orderSagaDeadLetterBinding() {
         return BindingBuilder
-                .bind(orderCompletionQueue())
-                .to(orderValidationExchange())
-                .with(ORDER_COMPLETION_ROUTING_KEY);
+                .bind(orderSagaDeadLetterQueue())
+                .to(orderSagaDeadLetterExchange())
+                .with(ORDER_SAGA_ROUTING_KEY);
     }
-    
+
     @Bean
-    public Binding orderRejectionBinding() {
+    public Binding orderSagaParkingLotBinding() {
         return BindingBuilder
-                .bind(orderRejectionQueue())
-                .to(orderValidationExchange())
-                .with(ORDER_REJECTION_ROUTING_KEY);
-    }
-    
-    // RabbitMQ Listeners
-    @RabbitListener(queues = STOCK_CHECK_QUEUE)
-    public void receiveStockCheckMessage(OrderValidationMessage message) {
-        try {
-            logger.info("Received stock check request for order ID: {}", message.getOrderId());
-            orderValidationService.checkStock(message);
-        } catch (Exception e) {
-            logger.error("Error processing stock check message: {}", e.getMessage(), e);
-        }
-    }
-    
-    @RabbitListener(queues = PAYMENT_VALIDATION_QUEUE)
-    public void receivePaymentValidationMessage(OrderValidationMessage message) {
-        try {
-            logger.info("Received payment validation request for order ID: {}", message.getOrderId());
-            orderValidationService.validatePayment(message);
-        } catch (Exception e) {
-            logger.error("Error processing payment validation message: {}", e.getMessage(), e);
-        }
-    }
-    
-    @RabbitListener(queues = ORDER_COMPLETION_QUEUE)
-    public void receiveOrderCompletionMessage(OrderValidationMessage message) {
-        try {
-            logger.info("Received order completion request for order ID: {}", message.getOrderId());
-            orderValidationService.completeOrder(message);
-        } catch (Exception e) {
-            logger.error("Error processing order completion message: {}", e.getMessage(), e);
-        }
-    }
-    
-    @RabbitListener(queues = ORDER_REJECTION_QUEUE)
-    public void receiveOrderRejectionMessage(OrderValidationMessage message) {
-        try {
-            logger.info("Received order rejection request for order ID: {}", message.getOrderId());
-            orderValidationService.rejectOrder(message);
-        } catch (Exception e) {
-            logger.error("Error processing order rejection message: {}", e.getMessage(), e);
-        }
+                .bind(orderSagaParkingLotQueue())
+                .to(orderSagaDeadLetterExchange())
+                .with(ORDER_SAGA_PARKED_ROUTING_KEY);
     }
-} 
\ No newline at end of file
+}
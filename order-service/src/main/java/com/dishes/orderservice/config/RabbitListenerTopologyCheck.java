@@ -0,0 +1,72 @@
+package com.dishes.orderservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fails startup when two @RabbitListener handlers consume the same queue. Competing handlers split
+ * a queue's messages between them at random, so each queue has exactly one handler; scale it with
+ * its container's concurrency instead.
+ */
+@Component
+public class RabbitListenerTopologyCheck implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(RabbitListenerTopologyCheck.class);
+
+    @Autowired
+    private RabbitListenerEndpointRegistry listenerEndpointRegistry;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        Map<String, List<String>> handlersByQueue = new TreeMap<>();
+        for (MessageListenerContainer container : listenerEndpointRegistry.getListenerContainers()) {
+            if (container instanceof AbstractMessageListenerContainer listenerContainer) {
+                for (String queue : listenerContainer.getQueueNames()) {
+                    handlersByQueue.computeIfAbsent(queue, name -> new ArrayList<>())
+                            .add(listenerContainer.getListenerId());
+                }
+            }
+        }
+
+        List<String> conflicts = new ArrayList<>();
+        handlersByQueue.forEach((queue, handlers) -> {
+            if (handlers.size() > 1) {
+                conflicts.add(queue + " <- " + handlers);
+            } else {
+                logger.info("Queue {} is consumed by {}", queue, handlers.get(0));
+            }
+        });
+        if (!conflicts.isEmpty()) {
+            throw new IllegalStateException("More than one @RabbitListener consumes the same queue: " + conflicts);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before the listener containers, so a conflict is reported before any message is consumed
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+}
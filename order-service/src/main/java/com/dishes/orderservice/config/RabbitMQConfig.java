@@ -4,11 +4,13 @@ import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,11 +29,18 @@ public class RabbitMQConfig {
     
     @Value("${spring.rabbitmq.password}")
     private String password;
+
+    @Value("${order.messaging.content-type:" + CborMessageConverter.CONTENT_TYPE + "}")
+    private String messageContentType;
     
     public static final String ORDER_QUEUE = "order.queue";
     public static final String ORDER_EXCHANGE = "order.exchange";
     public static final String ORDER_ROUTING_KEY = "order.routing.key";
 
+    // Published by dish-service, consumed by the dish cache
+    public static final String DISH_EVENTS_EXCHANGE = "dish.events.exchange";
+    public static final String DISH_CHANGED_ROUTING_KEY = "dish.changed";
+
     @Bean
     public Queue orderQueue() {
         return new Queue(ORDER_QUEUE);
@@ -50,9 +59,34 @@ public class RabbitMQConfig {
                 .with(ORDER_ROUTING_KEY);
     }
     
+    /**
+     * Converter of the shared template and the default listeners: writes JSON, which log and payment
+     * notification consumers expect, and reads each message by its own content type
+     */
+    @Bean
+    @Primary
+    public MessageConverter messageConverter() {
+        return contentTypeDelegating(MessageProperties.CONTENT_TYPE_JSON);
+    }
+
+    /**
+     * Converter of the saga messages written to the outbox and read by the saga listener: writes
+     * order.messaging.content-type and reads each message by its own content type, so messages
+     * queued before a switch still decode
+     */
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter sagaMessageConverter() {
+        return contentTypeDelegating(messageContentType);
+    }
+
+    private MessageConverter contentTypeDelegating(String writeContentType) {
+        MessageConverter json = new Jackson2JsonMessageConverter();
+        MessageConverter cbor = new CborMessageConverter();
+        ContentTypeDelegatingMessageConverter converter = new ContentTypeDelegatingMessageConverter(
+                MessageProperties.CONTENT_TYPE_JSON.equals(writeContentType) ? json : cbor);
+        converter.addDelegate(MessageProperties.CONTENT_TYPE_JSON, json);
+        converter.addDelegate(CborMessageConverter.CONTENT_TYPE, cbor);
+        return converter;
     }
     
     @Bean
@@ -65,6 +99,9 @@ public class RabbitMQConfig {
             connectionFactory.setPassword(password);
             // Set a short timeout to fail fast if RabbitMQ is not available
             connectionFactory.setConnectionTimeout(3000);
+            // Confirms and returns are reported per message, so the outbox relay knows what reached a queue
+            connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
+            connectionFactory.setPublisherReturns(true);
             return connectionFactory;
         } catch (Exception e) {
             logger.warn("Failed to create RabbitMQ connection factory: {}", e.getMessage());
@@ -73,12 +110,13 @@ public class RabbitMQConfig {
     }
     
     @Bean
+    @Primary
     public RabbitTemplate rabbitTemplate() {
         try {
             ConnectionFactory factory = connectionFactory();
             if (factory != null) {
                 RabbitTemplate rabbitTemplate = new RabbitTemplate(factory);
-                rabbitTemplate.setMessageConverter(jsonMessageConverter());
+                rabbitTemplate.setMessageConverter(messageConverter());
                 return rabbitTemplate;
             }
             logger.warn("RabbitMQ connection factory is null, returning null RabbitTemplate");
@@ -88,4 +126,21 @@ public class RabbitMQConfig {
             return null;
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Template for the outbox relay only. Its sends are mandatory, so an unroutable message comes back
+     * with its confirm and stays in the outbox; other senders keep the shared template, where the
+     * broker drops what it cannot route.
+     */
+    @Bean
+    public RabbitTemplate outboxRabbitTemplate() {
+        ConnectionFactory factory = connectionFactory();
+        if (factory == null) {
+            logger.warn("RabbitMQ connection factory is null, returning null outbox RabbitTemplate");
+            return null;
+        }
+        RabbitTemplate rabbitTemplate = new RabbitTemplate(factory);
+        rabbitTemplate.setMandatory(true);
+        return rabbitTemplate;
+    }
+}
@@ -1,23 +1,98 @@
 package com.dishes.orderservice.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${http.client.max-total:200}")
+    private int maxTotal;
+
+    @Value("${http.client.max-per-route:50}")
+    private int maxPerRoute;
+
+    @Value("${http.client.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    @Value("${http.client.connection-ttl-seconds:300}")
+    private long connectionTtlSeconds;
+
+    @Value("${http.client.keep-alive-seconds:30}")
+    private long keepAliveSeconds;
+
+    @Value("${http.client.idle-eviction-seconds:30}")
+    private long idleEvictionSeconds;
+
+    @Bean
+    public PoolingHttpClientConnectionManager httpClientConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofSeconds(connectionTtlSeconds))
+                        // Re-check connections that sat idle before reusing them
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Leased, pending, available and max connections of the pool as httpcomponents.httpclient.pool.* gauges
+     */
+    @Bean
+    public MeterBinder httpClientConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "inter-service");
+    }
+
+    @Bean
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager) {
+        TimeValue maxKeepAlive = TimeValue.ofSeconds(keepAliveSeconds);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                // Honour the server's Keep-Alive header, but never hold a connection longer than configured
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return serverKeepAlive.compareTo(maxKeepAlive) < 0 ? serverKeepAlive : maxKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+    }
+
+    /**
+     * Load-balanced: service URLs use logical names such as http://dish-service, see LoadBalancerConfig.
+     * Built from the auto-configured builder so every call is timed as http.client.requests.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000); // 5 seconds
-        factory.setReadTimeout(5000); // 5 seconds
-        
-        RestTemplate restTemplate = new RestTemplate(factory);
-        restTemplate.setErrorHandler(new DefaultResponseErrorHandler());
-        
-        return restTemplate;
+    @LoadBalanced
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient httpClient) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .errorHandler(new DefaultResponseErrorHandler())
+                .build();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.dishes.orderservice.controller;
+
+import com.dishes.orderservice.dto.HttpPoolStatsDTO;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/http-pool")
+public class HttpPoolController {
+
+    @Autowired
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    /**
+     * Connection pool usage for outbound calls to the other services, in total and per route
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<HttpPoolStatsDTO> getPoolStats() {
+        HttpPoolStatsDTO stats = new HttpPoolStatsDTO();
+        stats.setTotal(toDTO(connectionManager.getTotalStats()));
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            stats.getRoutes().put(route.getTargetHost().toURI(), toDTO(connectionManager.getStats(route)));
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    private HttpPoolStatsDTO.PoolStats toDTO(PoolStats poolStats) {
+        HttpPoolStatsDTO.PoolStats dto = new HttpPoolStatsDTO.PoolStats();
+        dto.setLeased(poolStats.getLeased());
+        dto.setPending(poolStats.getPending());
+        dto.setAvailable(poolStats.getAvailable());
+        dto.setMax(poolStats.getMax());
+        return dto;
+    }
+}
@@ -1,13 +1,22 @@
 package com.dishes.orderservice.controller;
 
-import com.dishes.orderservice.dto.OrderDTO;
+import com.dishes.orderservice.dto.OrderHistoryCursor;
+import com.dishes.orderservice.dto.OrderHistoryPageDTO;
 import com.dishes.orderservice.dto.OrderStatusUpdateRequest;
+import com.dishes.orderservice.dto.OrderDTO;
 import com.dishes.orderservice.dto.SellerOrderDTO;
+import com.dishes.orderservice.job.OutboxRelay;
+import com.dishes.orderservice.job.SellerOrderViewBackfillJob;
 import com.dishes.orderservice.mapper.OrderMapper;
 import com.dishes.orderservice.model.Order;
 import com.dishes.orderservice.model.OrderItem;
 import com.dishes.orderservice.service.OrderService;
+import com.dishes.orderservice.service.SagaDeadLetterService;
+import com.dishes.orderservice.service.SellerOrderViewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,13 +25,15 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
 import java.util.ArrayList;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     @Autowired
     private OrderService orderService;
@@ -30,6 +41,18 @@ public class OrderController {
     @Autowired
     private OrderMapper orderMapper;
 
+    @Autowired
+    private SellerOrderViewService sellerOrderViewService;
+
+    @Autowired
+    private SellerOrderViewBackfillJob sellerOrderViewBackfillJob;
+
+    @Autowired
+    private SagaDeadLetterService sagaDeadLetterService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
     @PostMapping("/user-order")
     public ResponseEntity<?> createUserOrder(
             @RequestHeader("X-User-Id") Long userId,
@@ -61,21 +84,23 @@ public class OrderController {
         }
     }
 
+    /**
+     * Newest orders of the calling user, one keyset page at a time
+     * @param cursor nextCursor from the previous page; omit for the latest orders
+     */
     @GetMapping
-    public ResponseEntity<List<OrderDTO>> getUserOrders(@RequestHeader("X-User-Id") Long userId) {
+    public ResponseEntity<?> getUserOrders(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
         logger.info("Fetching orders for user ID: {}", userId);
-        List<Order> orders = orderService.getUserOrders(userId);
-        List<OrderDTO> orderDTOs = orders.stream()
-                .map(orderMapper::toDTO)
-                .collect(Collectors.toList());
-        logger.info("Found {} orders for user ID: {}", orders.size(), userId);
-        return ResponseEntity.ok(orderDTOs);
+        return getOrderHistoryPage(userId, cursor, limit);
     }
 
     @GetMapping("/{orderId}")
-    public ResponseEntity<Order> getOrder(@PathVariable Long orderId) {
+    public ResponseEntity<OrderDTO> getOrder(@PathVariable Long orderId) {
         logger.info("Fetching order with ID: {}", orderId);
-        Order order = orderService.getOrder(orderId);
+        OrderDTO order = orderService.getOrderSummary(orderId);
         logger.info("Found order: {}", order);
         return ResponseEntity.ok(order);
     }
@@ -114,17 +139,24 @@ public class OrderController {
         return "Order cancelled successfully";
     }
 
+    /**
+     * One page of the orders containing the seller's items, newest first
+     * @param status optional order status filter, e.g. COMPLETED
+     * @param paymentStatus optional payment status filter, e.g. PAID
+     */
     @GetMapping("/seller/{sellerId}")
-    public ResponseEntity<List<SellerOrderDTO>> getOrdersBySeller(@PathVariable Long sellerId) {
+    public ResponseEntity<Page<SellerOrderDTO>> getOrdersBySeller(
+            @PathVariable Long sellerId,
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) Order.PaymentStatus paymentStatus,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
         logger.info("Fetching orders for seller ID: {}", sellerId);
-        List<Order> orders = orderService.getOrdersBySeller(sellerId);
-        
-        // Convert to seller-specific DTOs
-        List<SellerOrderDTO> sellerOrders = orders.stream()
-            .map(order -> SellerOrderDTO.fromOrder(order, sellerId))
-            .toList();
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        Page<SellerOrderDTO> sellerOrders = sellerOrderViewService.getSellerOrders(sellerId, status, paymentStatus, pageable);
         
-        logger.info("Found {} orders for seller ID: {}", sellerOrders.size(), sellerId);
+        logger.info("Found {} of {} orders for seller ID: {}",
+            sellerOrders.getNumberOfElements(), sellerOrders.getTotalElements(), sellerId);
         
         // Log order details for debugging
         if (sellerOrders.isEmpty()) {
@@ -141,11 +173,39 @@ public class OrderController {
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<Order>> getOrdersByCustomer(@PathVariable Long customerId) {
+    public ResponseEntity<?> getOrdersByCustomer(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
         logger.info("Fetching orders for customer ID: {}", customerId);
-        List<Order> orders = orderService.getOrdersByCustomer(customerId);
-        logger.info("Found {} orders for customer ID: {}", orders.size(), customerId);
-        return ResponseEntity.ok(orders);
+        return getOrderHistoryPage(customerId, cursor, limit);
+    }
+
+    private ResponseEntity<?> getOrderHistoryPage(Long customerId, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        OrderHistoryCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : OrderHistoryCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        // Read one extra row to learn whether another page exists
+        List<OrderDTO> orders = orderService.getOrderHistory(customerId, after, pageSize + 1);
+        boolean hasMore = orders.size() > pageSize;
+        if (hasMore) {
+            orders = orders.subList(0, pageSize);
+        }
+
+        OrderHistoryPageDTO page = new OrderHistoryPageDTO();
+        page.setOrders(orders);
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            OrderDTO last = orders.get(orders.size() - 1);
+            page.setNextCursor(OrderHistoryCursor.of(last.getCreatedAt(), last.getId()).encode());
+        }
+        logger.info("Returning {} orders for customer ID: {} (more: {})", orders.size(), customerId, hasMore);
+        return ResponseEntity.ok(page);
     }
 
     @PostMapping
@@ -156,11 +216,46 @@ public class OrderController {
         return ResponseEntity.ok(createdOrder);
     }
 
+    /**
+     * Rebuilds the seller order projection from orders/order_items in the background
+     */
+    @PostMapping("/seller-view/rebuild")
+    public ResponseEntity<String> rebuildSellerOrderView() {
+        if (!sellerOrderViewBackfillJob.start()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Seller order view rebuild already running");
+        }
+        return ResponseEntity.accepted().body("Seller order view rebuild started");
+    }
+
+    /**
+     * Sends saga messages from the parking lot back to the saga queue, once whatever made them fail is fixed
+     */
+    @PostMapping("/sagas/parking-lot/replay")
+    public ResponseEntity<String> replayParkedSagas(@RequestParam(defaultValue = "100") int max) {
+        int replayed = sagaDeadLetterService.replayParked(Math.max(max, 1));
+        return ResponseEntity.ok("Replayed " + replayed + " parked saga messages");
+    }
+
+    /**
+     * Retries the outbox messages the relay gave up on after outbox.relay.max-attempts
+     */
+    @PostMapping("/outbox/failed/requeue")
+    public ResponseEntity<String> requeueFailedOutboxMessages() {
+        int requeued = outboxRelay.requeueFailed();
+        return ResponseEntity.ok("Requeued " + requeued + " failed outbox messages");
+    }
+
     @GetMapping("/seller/{sellerId}/order/{orderId}")
     public ResponseEntity<?> getSellerOrder(@PathVariable Long sellerId, @PathVariable Long orderId) {
         logger.info("Fetching order {} for seller ID: {}", orderId, sellerId);
         
         try {
+            Optional<SellerOrderDTO> projected = sellerOrderViewService.getSellerOrder(sellerId, orderId);
+            if (projected.isPresent()) {
+                return ResponseEntity.ok(projected.get());
+            }
+
+            // Not in the projection (yet): work it out from the order itself
             Order order = orderService.getOrder(orderId);
             
             // Check if this order has any items from this seller
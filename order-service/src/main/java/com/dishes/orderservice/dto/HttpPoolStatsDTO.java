@@ -0,0 +1,19 @@
+package com.dishes.orderservice.dto;
+
+import lombok.Data;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class HttpPoolStatsDTO {
+    private PoolStats total;
+    private Map<String, PoolStats> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class PoolStats {
+        private int leased;
+        private int pending;
+        private int available;
+        private int max;
+    }
+}
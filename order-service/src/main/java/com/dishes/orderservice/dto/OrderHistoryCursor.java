@@ -0,0 +1,43 @@
+package com.dishes.orderservice.dto;
+
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a customer's order history: the (createdAt, id) of the last order on the previous page.
+ * Sent to clients as an opaque URL-safe string.
+ */
+@Data
+public class OrderHistoryCursor {
+    private LocalDateTime createdAt;
+    private Long id;
+
+    public static OrderHistoryCursor of(LocalDateTime createdAt, Long id) {
+        OrderHistoryCursor cursor = new OrderHistoryCursor();
+        cursor.setCreatedAt(createdAt);
+        cursor.setId(id);
+        return cursor;
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value was not produced by {@link #encode()}
+     */
+    public static OrderHistoryCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return of(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid order history cursor: " + value);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.dishes.orderservice.dto;
+
+import lombok.Data;
+import java.util.List;
+
+/**
+ * One page of a customer's orders, newest first.
+ * Pass nextCursor back as the cursor parameter to get the following page; it is null on the last page.
+ */
+@Data
+public class OrderHistoryPageDTO {
+    private List<OrderDTO> orders;
+    private String nextCursor;
+    private boolean hasMore;
+}
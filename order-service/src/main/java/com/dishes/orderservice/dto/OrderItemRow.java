@@ -0,0 +1,12 @@
+package com.dishes.orderservice.dto;
+
+/**
+ * Read-only projection of the order item columns that order list views show
+ */
+public record OrderItemRow(Long orderId,
+                           Long id,
+                           Long dishId,
+                           String dishName,
+                           Double price,
+                           Integer quantity) {
+}
@@ -0,0 +1,17 @@
+package com.dishes.orderservice.dto;
+
+import com.dishes.orderservice.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the order columns that order list views show
+ */
+public record OrderSummaryRow(Long id,
+                              Long customerId,
+                              Order.OrderStatus status,
+                              BigDecimal totalAmount,
+                              LocalDateTime createdAt,
+                              LocalDateTime updatedAt) {
+}
@@ -0,0 +1,58 @@
+package com.dishes.orderservice.job;
+
+import com.dishes.contracts.dto.OrderValidationMessage;
+import com.dishes.orderservice.model.OrderSaga;
+import com.dishes.orderservice.repository.OrderSagaRepository;
+import com.dishes.orderservice.service.OrderSagaOrchestrator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resumes sagas that stopped before finishing: the service went down mid-saga, the saga message
+ * was lost, or a compensation call failed. Each is re-run from the state recorded in order_sagas.
+ * Sagas whose message was parked are skipped until it is replayed.
+ */
+@Component
+public class OrderSagaRecoveryJob {
+    private static final Logger logger = LoggerFactory.getLogger(OrderSagaRecoveryJob.class);
+
+    @Autowired
+    private OrderSagaRepository sagaRepository;
+
+    @Autowired
+    private OrderSagaOrchestrator orderSagaOrchestrator;
+
+    @Value("${order.saga.recovery.stale-seconds:60}")
+    private long staleSeconds;
+
+    @Value("${order.saga.recovery.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${order.saga.recovery.interval-ms:30000}")
+    public void resumeStalledSagas() {
+        List<OrderSaga> stalled = sagaRepository.findByStateInAndUpdatedAtBeforeAndParkedAtIsNullOrderByUpdatedAt(
+                OrderSaga.State.UNFINISHED, LocalDateTime.now().minusSeconds(staleSeconds), PageRequest.of(0, batchSize));
+        if (stalled.isEmpty()) {
+            return;
+        }
+
+        logger.warn("Resuming {} stalled order sagas", stalled.size());
+        List<OrderValidationMessage> messages = orderSagaOrchestrator.getMessages(
+                stalled.stream().map(OrderSaga::getOrderId).toList());
+        for (OrderValidationMessage message : messages) {
+            try {
+                orderSagaOrchestrator.run(message);
+            } catch (Exception e) {
+                logger.error("Error resuming saga for order {}: {}", message.getOrderId(), e.getMessage(), e);
+            }
+        }
+    }
+}
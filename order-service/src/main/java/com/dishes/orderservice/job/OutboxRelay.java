@@ -0,0 +1,184 @@
+package com.dishes.orderservice.job;
+
+import com.dishes.orderservice.model.OutboxMessage;
+import com.dishes.orderservice.repository.OutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes outbox messages in batches. Every message in a batch is sent before any confirm is
+ * awaited, and a row is deleted only once the broker has confirmed it and not returned it as
+ * unroutable; anything else stays in the outbox and is retried after an exponential backoff, until
+ * max-attempts is reached and it is marked FAILED. A message may therefore be sent more than once,
+ * which consumers of outbox messages must tolerate.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    @Qualifier("outboxRabbitTemplate")
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("interServiceExecutor")
+    private Executor executor;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.backoff-initial-ms:1000}")
+    private long backoffInitialMs;
+
+    @Value("${outbox.relay.backoff-max-ms:300000}")
+    private long backoffMaxMs;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+
+    /**
+     * Drains the outbox in the background, for messages that were just committed
+     */
+    public void wakeUp() {
+        executor.execute(this::drain);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:1000}")
+    public void drain() {
+        drainRequested.set(true);
+        // One drain at a time; a request that arrives meanwhile makes the running drain go round again
+        while (drainRequested.get() && draining.compareAndSet(false, true)) {
+            try {
+                drainRequested.set(false);
+                while (relayBatch() == batchSize) {
+                    // A full batch was confirmed, so more may be waiting
+                }
+            } catch (Exception e) {
+                logger.warn("Outbox relay stopped, will retry on the next poll: {}", e.getMessage());
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Makes the messages that were marked FAILED pending again, once whatever made them fail is fixed
+     * @return the number of messages requeued
+     */
+    public int requeueFailed() {
+        Integer requeued = transactionTemplate.execute(status -> outboxMessageRepository.requeue(
+                OutboxMessage.Status.FAILED, OutboxMessage.Status.PENDING, LocalDateTime.now()));
+        int count = requeued != null ? requeued : 0;
+        logger.info("Requeued {} failed outbox messages", count);
+        if (count > 0) {
+            wakeUp();
+        }
+        return count;
+    }
+
+    /**
+     * Publishes one batch
+     * @return the number of messages confirmed and removed from the outbox
+     */
+    private int relayBatch() {
+        Integer confirmed = transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = outboxMessageRepository.lockNextBatch(LocalDateTime.now(), batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            List<CorrelationData> correlations = new ArrayList<>(batch.size());
+            for (OutboxMessage message : batch) {
+                CorrelationData correlation = new CorrelationData(String.valueOf(message.getId()));
+                rabbitTemplate.send(message.getExchange(), message.getRoutingKey(), message.toMessage(), correlation);
+                correlations.add(correlation);
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+            List<Long> sentIds = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                OutboxMessage message = batch.get(i);
+                String failure = awaitConfirm(correlations.get(i), deadline);
+                if (failure == null) {
+                    sentIds.add(message.getId());
+                } else {
+                    recordFailure(message, failure);
+                }
+            }
+            outboxMessageRepository.deleteAllByIdInBatch(sentIds);
+            return sentIds.size();
+        });
+        return confirmed != null ? confirmed : 0;
+    }
+
+    /**
+     * Schedules the next attempt of a message, or marks it FAILED once it has used up max-attempts
+     */
+    private void recordFailure(OutboxMessage message, String failure) {
+        message.setAttempts(message.getAttempts() + 1);
+        message.setLastError(failure);
+        if (message.getAttempts() >= maxAttempts) {
+            message.setStatus(OutboxMessage.Status.FAILED);
+            logger.error("Outbox message {} to {}/{} failed {} times, giving up: {}",
+                    message.getId(), message.getExchange(), message.getRoutingKey(), message.getAttempts(), failure);
+            return;
+        }
+
+        // Doubles with every failed attempt; the shift is capped so it cannot overflow
+        long delayMs = Math.min(backoffInitialMs << Math.min(message.getAttempts() - 1, 30), backoffMaxMs);
+        message.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delayMs)));
+        logger.warn("Outbox message {} to {}/{} not confirmed, attempt {} of {}, retrying in {} ms: {}",
+                message.getId(), message.getExchange(), message.getRoutingKey(),
+                message.getAttempts(), maxAttempts, delayMs, failure);
+    }
+
+    /**
+     * @return null if the broker confirmed the message, otherwise why it is considered unsent
+     */
+    private String awaitConfirm(CorrelationData correlation, long deadline) {
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                    .get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                return "Nacked: " + confirm.getReason();
+            }
+            if (correlation.getReturned() != null) {
+                return "Returned as unroutable: " + correlation.getReturned().getReplyText();
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted while waiting for the confirm";
+        } catch (Exception e) {
+            return "No confirm within " + confirmTimeoutMs + " ms";
+        }
+    }
+}
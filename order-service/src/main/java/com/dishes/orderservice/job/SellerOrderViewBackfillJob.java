@@ -0,0 +1,89 @@
+package com.dishes.orderservice.job;
+
+import com.dishes.orderservice.repository.OrderRepository;
+import com.dishes.orderservice.service.SellerOrderViewService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds seller_order_view from orders/order_items, in batches of order IDs with one
+ * transaction per batch. Safe to run while orders are being placed: every batch recomputes
+ * rows from the committed orders, exactly as the incremental refresh does.
+ */
+@Component
+public class SellerOrderViewBackfillJob {
+    private static final Logger logger = LoggerFactory.getLogger(SellerOrderViewBackfillJob.class);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private SellerOrderViewService sellerOrderViewService;
+
+    @Autowired
+    @Qualifier("interServiceExecutor")
+    private Executor executor;
+
+    @Value("${seller-order-view.backfill.batch-size:500}")
+    private int batchSize;
+
+    @Value("${seller-order-view.backfill.on-startup:false}")
+    private boolean backfillOnStartup;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            start();
+        }
+    }
+
+    /**
+     * Starts a rebuild in the background
+     * @return false if a rebuild is already running
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                run();
+            } catch (Exception e) {
+                logger.error("Seller order view backfill failed: {}", e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void run() {
+        logger.info("Seller order view backfill started");
+        long lastId = 0;
+        long processed = 0;
+        List<Long> batch;
+        while (!(batch = orderRepository.findIdsAfter(lastId, PageRequest.of(0, batchSize))).isEmpty()) {
+            sellerOrderViewService.refresh(batch);
+            lastId = batch.get(batch.size() - 1);
+            processed += batch.size();
+        }
+        logger.info("Seller order view backfill finished, {} orders processed", processed);
+    }
+}
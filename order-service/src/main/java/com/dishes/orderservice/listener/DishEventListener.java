@@ -0,0 +1,38 @@
+package com.dishes.orderservice.listener;
+
+import com.dishes.contracts.dto.DishChangedEvent;
+import com.dishes.orderservice.cache.DishCatalogCache;
+import com.dishes.orderservice.config.RabbitMQConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts changed dishes from this instance's dish cache.
+ * Each order-service instance binds its own anonymous queue, so every replica sees every event.
+ */
+@Component
+public class DishEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(DishEventListener.class);
+
+    @Autowired
+    private DishCatalogCache dishCatalogCache;
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue,
+            exchange = @Exchange(value = RabbitMQConfig.DISH_EVENTS_EXCHANGE, type = ExchangeTypes.TOPIC),
+            key = RabbitMQConfig.DISH_CHANGED_ROUTING_KEY))
+    public void handleDishChanged(DishChangedEvent event) {
+        if (event.getDishIds() == null || event.getDishIds().isEmpty()) {
+            return;
+        }
+        dishCatalogCache.evictAll(event.getDishIds());
+        logger.debug("Evicted dishes {} from cache after {} event", event.getDishIds(), event.getChangeType());
+    }
+}
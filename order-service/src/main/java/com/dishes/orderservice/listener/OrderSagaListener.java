@@ -0,0 +1,134 @@
+package com.dishes.orderservice.listener;
+
+import com.dishes.contracts.dto.OrderValidationMessage;
+import com.dishes.orderservice.config.OrderValidationConfig;
+import com.dishes.orderservice.service.OrderSagaOrchestrator;
+import com.dishes.orderservice.service.SagaDeadLetterService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.ReceiverContext;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Consumes the saga messages published for new orders, a batch at a time.
+ * A saga that throws is retried in place with backoff; if it still fails, its message is handed to
+ * {@link SagaDeadLetterService} so the rest of the batch can be acked.
+ */
+@Component
+public class OrderSagaListener {
+    private static final Logger logger = LoggerFactory.getLogger(OrderSagaListener.class);
+
+    @Autowired
+    private OrderSagaOrchestrator orderSagaOrchestrator;
+
+    @Autowired
+    private SagaDeadLetterService sagaDeadLetterService;
+
+    @Autowired
+    @Qualifier("sagaMessageConverter")
+    private MessageConverter messageConverter;
+
+    @Autowired
+    @Qualifier("sagaRetryTemplate")
+    private RetryTemplate sagaRetryTemplate;
+
+    @Autowired
+    @Qualifier("interServiceExecutor")
+    private Executor executor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    private Timer queueLag;
+
+    @PostConstruct
+    public void init() {
+        queueLag = Timer.builder("order.saga.queue.lag")
+                .description("Time from the order commit to its saga message being consumed")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @RabbitListener(queues = OrderValidationConfig.ORDER_SAGA_QUEUE,
+                    containerFactory = "orderSagaListenerContainerFactory")
+    public void handleOrderSagas(List<Message> messages) {
+        logger.info("Received {} saga messages", messages.size());
+
+        // Sagas of different orders are independent, so a batch runs side by side and is acked once all finish.
+        // If a failed message cannot be dead-lettered, the batch is rejected and the broker dead-letters it.
+        CompletableFuture.allOf(messages.stream()
+                .map(message -> CompletableFuture.runAsync(() -> handle(message), executor))
+                .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    /**
+     * Handles one message as a consumer span continuing the trace in its headers.
+     * The container does not observe batch listeners, so this is done per message here.
+     */
+    private void handle(Message message) {
+        ReceiverContext<Message> context = new ReceiverContext<>((carrier, key) -> {
+            Object value = carrier.getMessageProperties().getHeader(key);
+            return value != null ? value.toString() : null;
+        });
+        context.setCarrier(message);
+        Observation.createNotStarted("order.saga.message", () -> context, observationRegistry)
+                .lowCardinalityKeyValue("queue", OrderValidationConfig.ORDER_SAGA_QUEUE)
+                .observe(() -> process(message));
+    }
+
+    private void process(Message message) {
+        if (message.getMessageProperties().getTimestamp() != null) {
+            long lagMs = System.currentTimeMillis() - message.getMessageProperties().getTimestamp().getTime();
+            queueLag.record(Duration.ofMillis(Math.max(lagMs, 0)));
+        }
+
+        OrderValidationMessage saga;
+        try {
+            saga = (OrderValidationMessage) messageConverter.fromMessage(message);
+        } catch (Exception e) {
+            // Retrying cannot fix a message that does not convert
+            sagaDeadLetterService.park(message, null, e);
+            return;
+        }
+        if (saga.getSchemaVersion() > OrderValidationMessage.SCHEMA_VERSION) {
+            // Written by a newer release whose fields may mean something else here; wait for it to be replayed
+            sagaDeadLetterService.park(message, saga.getOrderId(), new IllegalStateException(
+                    "Unsupported saga message schema version " + saga.getSchemaVersion()
+                    + ", this service reads up to " + OrderValidationMessage.SCHEMA_VERSION));
+            return;
+        }
+
+        sagaRetryTemplate.execute(context -> {
+            if (context.getRetryCount() > 0) {
+                logger.info("Retrying saga for order {}, attempt {}", saga.getOrderId(), context.getRetryCount() + 1);
+            }
+            orderSagaOrchestrator.run(saga);
+            return null;
+        }, context -> {
+            logger.error("Saga for order {} failed after {} attempts: {}",
+                    saga.getOrderId(), context.getRetryCount(), context.getLastThrowable().getMessage());
+            sagaDeadLetterService.deadLetter(message, saga.getOrderId(), context.getLastThrowable());
+            return null;
+        });
+    }
+}
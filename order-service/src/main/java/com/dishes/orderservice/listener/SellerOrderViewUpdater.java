@@ -0,0 +1,66 @@
+package com.dishes.orderservice.listener;
+
+import com.dishes.orderservice.model.Order;
+import com.dishes.orderservice.service.SellerOrderViewService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * JPA entity listener on {@link Order}: collects the orders written in a transaction and refreshes
+ * their seller_order_view rows once it commits. Hooking the entity rather than the services also
+ * catches status changes made through dirty checking. A failed refresh is only logged; the backfill
+ * job rebuilds the projection from orders/order_items.
+ */
+@Component
+public class SellerOrderViewUpdater {
+    private static final Logger logger = LoggerFactory.getLogger(SellerOrderViewUpdater.class);
+    private static final Object PENDING_ORDERS_KEY = new Object();
+
+    @Autowired
+    @Lazy
+    private SellerOrderViewService sellerOrderViewService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void orderChanged(Order order) {
+        if (order.getId() == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Long> pendingOrderIds = (Set<Long>) TransactionSynchronizationManager.getResource(PENDING_ORDERS_KEY);
+        if (pendingOrderIds == null) {
+            Set<Long> orderIds = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(PENDING_ORDERS_KEY, orderIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        sellerOrderViewService.refresh(orderIds);
+                    } catch (Exception e) {
+                        logger.error("Failed to refresh seller order view for orders {}: {}", orderIds, e.getMessage(), e);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_ORDERS_KEY);
+                }
+            });
+            pendingOrderIds = orderIds;
+        }
+        pendingOrderIds.add(order.getId());
+    }
+}
@@ -0,0 +1,25 @@
+package com.dishes.orderservice.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Hides replicas that {@link InstanceHealthTracker} has drained from the load balancer
+ */
+public class HealthAwareServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+    private final InstanceHealthTracker healthTracker;
+
+    public HealthAwareServiceInstanceListSupplier(ServiceInstanceListSupplier delegate, InstanceHealthTracker healthTracker) {
+        super(delegate);
+        this.healthTracker = healthTracker;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return getDelegate().get().map(healthTracker::selectHealthy);
+    }
+}
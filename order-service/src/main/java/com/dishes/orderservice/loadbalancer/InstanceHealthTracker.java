@@ -0,0 +1,158 @@
+package com.dishes.orderservice.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passive health tracking for load-balanced inter-service calls.
+ * Every call made through the load balancer reports its latency and outcome here, and
+ * {@link #selectHealthy(List)} drops replicas that keep failing or are much slower than their peers
+ * for a cool-down period, after which they get traffic again with a clean slate.
+ */
+@Component
+public class InstanceHealthTracker implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+    private static final Logger logger = LoggerFactory.getLogger(InstanceHealthTracker.class);
+    // Weight of the newest sample in the moving latency average
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    @Value("${loadbalancer.health.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${loadbalancer.health.slow-factor:3.0}")
+    private double slowFactor;
+
+    @Value("${loadbalancer.health.slow-min-latency-ms:200}")
+    private long slowMinLatencyMs;
+
+    @Value("${loadbalancer.health.drain-seconds:30}")
+    private long drainSeconds;
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (request.getContext() instanceof TimedRequestContext context) {
+            context.setRequestStartTime(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.DISCARD
+                || completionContext.getLoadBalancerResponse() == null
+                || completionContext.getLoadBalancerResponse().getServer() == null) {
+            return;
+        }
+
+        ServiceInstance instance = completionContext.getLoadBalancerResponse().getServer();
+        InstanceStats instanceStats = stats.computeIfAbsent(keyOf(instance), key -> new InstanceStats());
+
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            if (instanceStats.recordFailure() >= failureThreshold) {
+                drain(instance, instanceStats, "failed " + failureThreshold + " calls in a row");
+            }
+            return;
+        }
+
+        Object requestContext = completionContext.getLoadBalancerRequest() != null
+                ? completionContext.getLoadBalancerRequest().getContext() : null;
+        if (requestContext instanceof TimedRequestContext timed && timed.getRequestStartTime() > 0) {
+            instanceStats.recordSuccess(System.nanoTime() - timed.getRequestStartTime());
+        }
+    }
+
+    /**
+     * Filters out drained replicas, and drains any replica whose average latency is more than
+     * slow-factor times that of the fastest replica. Never returns an empty list: if every replica
+     * is drained, all of them are returned so calls still have somewhere to go.
+     * @param instances The replicas the discovery client currently knows about
+     * @return the replicas that should receive traffic
+     */
+    public List<ServiceInstance> selectHealthy(List<ServiceInstance> instances) {
+        if (instances.size() < 2) {
+            return instances;
+        }
+
+        long now = System.nanoTime();
+        double fastest = Double.MAX_VALUE;
+        for (ServiceInstance instance : instances) {
+            InstanceStats instanceStats = stats.get(keyOf(instance));
+            if (instanceStats != null && !instanceStats.isDrained(now) && instanceStats.averageLatencyNanos > 0) {
+                fastest = Math.min(fastest, instanceStats.averageLatencyNanos);
+            }
+        }
+        double slowThreshold = Math.max(fastest * slowFactor, TimeUnit.MILLISECONDS.toNanos(slowMinLatencyMs));
+
+        List<ServiceInstance> healthy = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            InstanceStats instanceStats = stats.get(keyOf(instance));
+            if (instanceStats == null) {
+                healthy.add(instance);
+            } else if (instanceStats.isDrained(now)) {
+                logger.debug("Skipping drained instance {}", keyOf(instance));
+            } else if (fastest != Double.MAX_VALUE && instanceStats.averageLatencyNanos > slowThreshold) {
+                drain(instance, instanceStats, String.format("average latency %.0fms vs %.0fms on the fastest replica",
+                        instanceStats.averageLatencyNanos / 1_000_000, fastest / 1_000_000));
+            } else {
+                healthy.add(instance);
+            }
+        }
+
+        return healthy.isEmpty() ? instances : healthy;
+    }
+
+    private void drain(ServiceInstance instance, InstanceStats instanceStats, String reason) {
+        instanceStats.drainUntil(System.nanoTime() + TimeUnit.SECONDS.toNanos(drainSeconds));
+        logger.warn("Draining {} instance {} for {}s: {}", instance.getServiceId(), keyOf(instance), drainSeconds, reason);
+    }
+
+    private static String keyOf(ServiceInstance instance) {
+        return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static class InstanceStats {
+        private volatile double averageLatencyNanos;
+        private volatile long drainedUntil;
+        private int consecutiveFailures;
+
+        synchronized void recordSuccess(long latencyNanos) {
+            consecutiveFailures = 0;
+            averageLatencyNanos = averageLatencyNanos == 0
+                    ? latencyNanos
+                    : LATENCY_SMOOTHING * latencyNanos + (1 - LATENCY_SMOOTHING) * averageLatencyNanos;
+        }
+
+        synchronized int recordFailure() {
+            return ++consecutiveFailures;
+        }
+
+        // Forget the history so the replica is judged afresh once the drain period ends
+        synchronized void drainUntil(long until) {
+            drainedUntil = until;
+            consecutiveFailures = 0;
+            averageLatencyNanos = 0;
+        }
+
+        boolean isDrained(long now) {
+            return drainedUntil != 0 && now - drainedUntil < 0;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.dishes.orderservice.mapper;
 
+import com.dishes.contracts.dto.OrderValidationMessage;
 import com.dishes.orderservice.dto.OrderDTO;
+import com.dishes.orderservice.dto.OrderItemRow;
+import com.dishes.orderservice.dto.OrderSummaryRow;
 import com.dishes.orderservice.model.Order;
 import com.dishes.orderservice.model.OrderItem;
 import org.springframework.stereotype.Component;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
@@ -36,6 +40,60 @@ public class OrderMapper {
         return dto;
     }
 
+    /**
+     * Builds the same DTO from read-only projections, without loading entities
+     */
+    public OrderDTO toDTO(OrderSummaryRow order, List<OrderItemRow> items) {
+        OrderDTO dto = new OrderDTO();
+        dto.setId(order.id());
+        dto.setStatus(order.status().toString());
+        dto.setTotalAmount(order.totalAmount().doubleValue());
+        dto.setCreatedAt(order.createdAt());
+        dto.setUpdatedAt(order.updatedAt());
+        dto.setItems(items.stream()
+                .map(this::toOrderItemDTO)
+                .collect(Collectors.toList()));
+
+        if (order.customerId() != null) {
+            OrderDTO.UserDTO userDTO = new OrderDTO.UserDTO();
+            userDTO.setId(order.customerId());
+            dto.setUser(userDTO);
+        }
+
+        return dto;
+    }
+
+    /**
+     * Builds the saga start message of an order, with its items
+     */
+    public OrderValidationMessage toValidationMessage(Order order) {
+        OrderValidationMessage message = new OrderValidationMessage();
+        message.setOrderId(order.getId());
+        message.setCustomerId(order.getCustomerId());
+        message.setTotalAmount(order.getTotalAmount());
+        message.setItems(order.getItems().stream()
+                .map(item -> {
+                    OrderValidationMessage.OrderItemInfo itemInfo = new OrderValidationMessage.OrderItemInfo();
+                    itemInfo.setDishId(item.getDishId());
+                    itemInfo.setDishName(item.getDishName());
+                    itemInfo.setQuantity(item.getQuantity());
+                    itemInfo.setSellerId(item.getSellerId());
+                    return itemInfo;
+                })
+                .toList());
+        return message;
+    }
+
+    private OrderDTO.OrderItemDTO toOrderItemDTO(OrderItemRow item) {
+        OrderDTO.OrderItemDTO dto = new OrderDTO.OrderItemDTO();
+        dto.setId(item.id());
+        dto.setDishId(item.dishId());
+        dto.setDishName(item.dishName());
+        dto.setPrice(item.price());
+        dto.setQuantity(item.quantity());
+        return dto;
+    }
+
     private OrderDTO.OrderItemDTO toOrderItemDTO(OrderItem item) {
         OrderDTO.OrderItemDTO dto = new OrderDTO.OrderItemDTO();
         dto.setId(item.getId());
@@ -1,7 +1,9 @@
 package com.dishes.orderservice.model;
 
+import com.dishes.orderservice.listener.SellerOrderViewUpdater;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import lombok.Data;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -9,7 +11,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@EntityListeners(SellerOrderViewUpdater.class)
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_created_id", columnList = "user_id, created_at, id")
+})
 public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,7 +34,9 @@ public class Order {
     @Column(name = "payment_status")
     private PaymentStatus paymentStatus = PaymentStatus.PENDING;
 
+    // Loaded for up to 100 orders per query when a list of orders touches its items
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @JsonManagedReference
     private List<OrderItem> items = new ArrayList<>();
 
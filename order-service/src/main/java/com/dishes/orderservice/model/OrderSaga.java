@@ -0,0 +1,81 @@
+package com.dishes.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Progress of one order through stock reservation and payment. The row is written after every
+ * step, so a saga interrupted by a crash resumes from the last step it reached.
+ */
+@Data
+@Entity
+@Table(name = "order_sagas",
+       uniqueConstraints = @UniqueConstraint(name = "uk_order_sagas_order", columnNames = "order_id"),
+       indexes = @Index(name = "idx_order_sagas_state_updated", columnList = "state, updated_at"))
+public class OrderSaga {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private State state = State.PENDING;
+
+    // Set when the order is rejected because it could not be paid, rather than for lack of stock
+    @Column(name = "payment_failed", nullable = false)
+    private boolean paymentFailed;
+
+    @Column(name = "failure_reason", length = 1000)
+    private String failureReason;
+
+    // Set while the saga's message sits in the parking lot, so recovery leaves it alone until replayed
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+
+    // Guards against two deliveries of the same saga advancing it at once
+    @Version
+    private Long version;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * PENDING -> STOCK_RESERVED -> PAID -> COMPLETED on success; a failed step moves the saga
+     * to COMPENSATING, which releases the stock and refunds the payment before REJECTED.
+     */
+    public enum State {
+        PENDING,
+        STOCK_RESERVED,
+        PAID,
+        COMPLETED,
+        COMPENSATING,
+        REJECTED;
+
+        public static final Set<State> UNFINISHED = EnumSet.of(PENDING, STOCK_RESERVED, PAID, COMPENSATING);
+
+        public boolean isFinished() {
+            return !UNFINISHED.contains(this);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.dishes.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A broker message written in the same transaction as the change it announces, and deleted
+ * once the broker has confirmed it. The body is stored already converted, as it will be sent.
+ * A message that is not confirmed is retried with backoff, and marked FAILED after too many attempts.
+ */
+@Data
+@Entity
+@Table(name = "outbox_messages", indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class OutboxMessage {
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String exchange;
+
+    @Column(name = "routing_key", nullable = false)
+    private String routingKey;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] body;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "type_id")
+    private String typeId;
+
+    // Trace context of the transaction that wrote the message (traceparent etc.), sent as headers
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "trace_headers")
+    private Map<String, String> traceHeaders = new HashMap<>();
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    // Failed publish attempts, with the reason for the last one
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // Not relayed before this time, pushed back after each failed attempt
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        PENDING,
+        FAILED
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    public static OutboxMessage of(String exchange, String routingKey, Message message) {
+        OutboxMessage outboxMessage = new OutboxMessage();
+        outboxMessage.setExchange(exchange);
+        outboxMessage.setRoutingKey(routingKey);
+        outboxMessage.setBody(message.getBody());
+        outboxMessage.setContentType(message.getMessageProperties().getContentType());
+        Object typeId = message.getMessageProperties().getHeaders().get(TYPE_ID_HEADER);
+        outboxMessage.setTypeId(typeId != null ? typeId.toString() : null);
+        return outboxMessage;
+    }
+
+    public Message toMessage() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(contentType);
+        properties.setMessageId("outbox-" + id);
+        // When the change was committed, so consumers can tell how long the message took to reach them
+        if (createdAt != null) {
+            properties.setTimestamp(Date.from(createdAt.atZone(ZoneId.systemDefault()).toInstant()));
+        }
+        if (typeId != null) {
+            properties.setHeader(TYPE_ID_HEADER, typeId);
+        }
+        if (traceHeaders != null) {
+            traceHeaders.forEach(properties::setHeader);
+        }
+        return new Message(body, properties);
+    }
+}
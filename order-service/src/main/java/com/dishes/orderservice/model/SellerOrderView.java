@@ -0,0 +1,104 @@
+package com.dishes.orderservice.model;
+
+import com.dishes.orderservice.dto.SellerOrderDTO;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Denormalized copy of an order as one seller sees it, one row per (seller, order).
+ * Derived entirely from orders/order_items and kept current by SellerOrderViewService.
+ */
+@Data
+@Entity
+@Table(name = "seller_order_view",
+       uniqueConstraints = @UniqueConstraint(name = "uk_seller_order_view_seller_order", columnNames = {"seller_id", "order_id"}),
+       indexes = {
+           @Index(name = "idx_seller_order_view_seller_created", columnList = "seller_id, created_at, order_id"),
+           @Index(name = "idx_seller_order_view_seller_status_created", columnList = "seller_id, status, created_at, order_id"),
+           @Index(name = "idx_seller_order_view_seller_payment_created", columnList = "seller_id, payment_status, created_at, order_id"),
+           @Index(name = "idx_seller_order_view_order", columnList = "order_id")
+       })
+public class SellerOrderView {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "customer_name")
+    private String customerName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Order.OrderStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status")
+    private Order.PaymentStatus paymentStatus;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "seller_items")
+    private List<SellerOrderDTO.OrderItemDTO> sellerItems = new ArrayList<>();
+
+    @Column(name = "seller_subtotal")
+    private BigDecimal sellerSubtotal;
+
+    @Column(name = "total_order_amount")
+    private BigDecimal totalOrderAmount;
+
+    @Column(name = "multi_seller_order", nullable = false)
+    private boolean multiSellerOrder;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public static SellerOrderView fromDTO(SellerOrderDTO dto, Long sellerId) {
+        SellerOrderView view = new SellerOrderView();
+        view.setSellerId(sellerId);
+        view.setOrderId(dto.getId());
+        view.setCustomerId(dto.getCustomerId());
+        view.setCustomerName(dto.getCustomerName());
+        view.setStatus(dto.getStatus());
+        view.setPaymentStatus(dto.getPaymentStatus());
+        view.setSellerItems(dto.getSellerItems());
+        view.setSellerSubtotal(dto.getSellerSubtotal());
+        view.setTotalOrderAmount(dto.getTotalOrderAmount());
+        view.setMultiSellerOrder(dto.isMultiSellerOrder());
+        view.setCreatedAt(dto.getCreatedAt());
+        view.setUpdatedAt(dto.getUpdatedAt());
+        return view;
+    }
+
+    public SellerOrderDTO toDTO() {
+        SellerOrderDTO dto = new SellerOrderDTO();
+        dto.setId(orderId);
+        dto.setCustomerId(customerId);
+        dto.setCustomerName(customerName);
+        dto.setStatus(status);
+        dto.setPaymentStatus(paymentStatus);
+        dto.setSellerItems(sellerItems);
+        dto.setSellerSubtotal(sellerSubtotal);
+        dto.setTotalOrderAmount(totalOrderAmount);
+        dto.setMultiSellerOrder(multiSellerOrder);
+        dto.setCreatedAt(createdAt);
+        dto.setUpdatedAt(updatedAt);
+        return dto;
+    }
+}
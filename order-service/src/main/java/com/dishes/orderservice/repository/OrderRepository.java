@@ -1,11 +1,81 @@
 package com.dishes.orderservice.repository;
 
+import com.dishes.orderservice.dto.OrderItemRow;
+import com.dishes.orderservice.dto.OrderSummaryRow;
 import com.dishes.orderservice.model.Order;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    // Unpaged finders fetch items in the same query; paged ones rely on batch fetching (see Order.items)
+    @EntityGraph(attributePaths = "items")
     List<Order> findByCustomerId(Long customerId);
+
+    @EntityGraph(attributePaths = "items")
     List<Order> findByCustomerIdAndStatus(Long customerId, Order.OrderStatus status);
+
+    @EntityGraph(attributePaths = "items")
     List<Order> findByCustomerIdOrderByCreatedAtDesc(Long customerId);
+
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findWithItemsById(Long id);
+
+    @Query("SELECT new com.dishes.orderservice.dto.OrderSummaryRow(" +
+           "o.id, o.customerId, o.status, o.totalAmount, o.createdAt, o.updatedAt) " +
+           "FROM Order o WHERE o.id = :id")
+    Optional<OrderSummaryRow> findOrderSummaryById(@Param("id") Long id);
+
+    /**
+     * Items of several orders in one query, for assembling list views from projections
+     */
+    @Query("SELECT new com.dishes.orderservice.dto.OrderItemRow(" +
+           "i.order.id, i.id, i.dishId, i.dishName, i.price, i.quantity) " +
+           "FROM OrderItem i WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<OrderItemRow> findItemRowsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * First page of a customer's order history, newest first; id breaks ties between equal timestamps
+     */
+    @Query("SELECT new com.dishes.orderservice.dto.OrderSummaryRow(" +
+           "o.id, o.customerId, o.status, o.totalAmount, o.createdAt, o.updatedAt) " +
+           "FROM Order o WHERE o.customerId = :customerId " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummaryRow> findOrderHistory(@Param("customerId") Long customerId, Pageable pageable);
+
+    /**
+     * Keyset page: orders strictly after the given (createdAt, id) position in newest-first order.
+     * Served by the (user_id, created_at, id) index, so deep pages cost the same as the first.
+     */
+    @Query("SELECT new com.dishes.orderservice.dto.OrderSummaryRow(" +
+           "o.id, o.customerId, o.status, o.totalAmount, o.createdAt, o.updatedAt) " +
+           "FROM Order o WHERE o.customerId = :customerId " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummaryRow> findOrderHistoryAfter(@Param("customerId") Long customerId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    /**
+     * Locks the order rows, in ID order, so refreshes of their derived data run one at a time and see the latest state
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids ORDER BY o.id")
+    List<Order> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Walks all order IDs in ascending batches, for backfills
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 } 
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.dishes.orderservice.repository;
+
+import com.dishes.orderservice.model.OrderSaga;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderSagaRepository extends JpaRepository<OrderSaga, Long> {
+    Optional<OrderSaga> findByOrderId(Long orderId);
+
+    /**
+     * Sagas that stopped in one of the given states, have not moved since the given time and are not parked
+     */
+    List<OrderSaga> findByStateInAndUpdatedAtBeforeAndParkedAtIsNullOrderByUpdatedAt(Collection<OrderSaga.State> states,
+                                                                                     LocalDateTime updatedBefore,
+                                                                                     Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OrderSaga s SET s.parkedAt = :parkedAt WHERE s.orderId IN :orderIds")
+    int setParkedAt(@Param("orderIds") Collection<Long> orderIds, @Param("parkedAt") LocalDateTime parkedAt);
+}
@@ -0,0 +1,32 @@
+package com.dishes.orderservice.repository;
+
+import com.dishes.orderservice.model.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks the pending messages that are due, longest waiting first; rows another relay instance holds
+     * are skipped rather than waited for
+     */
+    @Query(value = "SELECT * FROM outbox_messages WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Makes failed messages pending again with a fresh attempt count
+     * @return the number of messages requeued
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :pending, m.attempts = 0, m.nextAttemptAt = :now " +
+           "WHERE m.status = :failed")
+    int requeue(@Param("failed") OutboxMessage.Status failed,
+                @Param("pending") OutboxMessage.Status pending,
+                @Param("now") LocalDateTime now);
+}
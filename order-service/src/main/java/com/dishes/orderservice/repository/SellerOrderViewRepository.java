@@ -0,0 +1,25 @@
+package com.dishes.orderservice.repository;
+
+import com.dishes.orderservice.model.Order;
+import com.dishes.orderservice.model.SellerOrderView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface SellerOrderViewRepository extends JpaRepository<SellerOrderView, Long> {
+    Page<SellerOrderView> findBySellerIdOrderByCreatedAtDescOrderIdDesc(Long sellerId, Pageable pageable);
+    Page<SellerOrderView> findBySellerIdAndStatusOrderByCreatedAtDescOrderIdDesc(Long sellerId, Order.OrderStatus status, Pageable pageable);
+    Page<SellerOrderView> findBySellerIdAndPaymentStatusOrderByCreatedAtDescOrderIdDesc(Long sellerId, Order.PaymentStatus paymentStatus, Pageable pageable);
+    Page<SellerOrderView> findBySellerIdAndStatusAndPaymentStatusOrderByCreatedAtDescOrderIdDesc(Long sellerId, Order.OrderStatus status, Order.PaymentStatus paymentStatus, Pageable pageable);
+    Optional<SellerOrderView> findBySellerIdAndOrderId(Long sellerId, Long orderId);
+
+    @Modifying
+    @Query("DELETE FROM SellerOrderView v WHERE v.orderId IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+}
@@ -4,6 +4,7 @@ import com.dishes.orderservice.dto.BalanceDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,10 +18,12 @@ import java.util.Map;
 @Service
 public class BalanceService {
     private static final Logger logger = LoggerFactory.getLogger(BalanceService.class);
-    private static final String USER_SERVICE_URL = "http://localhost:8081/api/users";
     
     @Autowired
     private RestTemplate restTemplate;
+
+    @Value("${services.user-service.url:http://user-service}/api/users")
+    private String userServiceUrl;
     
     /**
      * Get a user's balance from the user service
@@ -28,7 +31,7 @@ public class BalanceService {
     @Transactional
     public BalanceDTO getUserBalance(Long userId) {
         try {
-            String balanceUrl = USER_SERVICE_URL + "/" + userId + "/balance";
+            String balanceUrl = userServiceUrl + "/" + userId + "/balance";
             BigDecimal balance = restTemplate.getForObject(balanceUrl, BigDecimal.class);
             
             BalanceDTO balanceDTO = new BalanceDTO();
@@ -52,7 +55,7 @@ public class BalanceService {
     @Transactional
     public BalanceDTO updateBalance(Long userId, BigDecimal amount) {
         try {
-            String balanceUrl = USER_SERVICE_URL + "/" + userId + "/balance";
+            String balanceUrl = userServiceUrl + "/" + userId + "/balance";
             
             // Create payload for balance update
             Map<String, Object> payload = new HashMap<>();
@@ -77,7 +80,7 @@ public class BalanceService {
      */
     public boolean hasSufficientBalance(Long userId, BigDecimal amount) {
         try {
-            String balanceUrl = USER_SERVICE_URL + "/" + userId + "/balance";
+            String balanceUrl = userServiceUrl + "/" + userId + "/balance";
             BigDecimal balance = restTemplate.getForObject(balanceUrl, BigDecimal.class);
             
             return balance != null && balance.compareTo(amount) >= 0;
@@ -0,0 +1,403 @@
+package com.dishes.orderservice.service;
+
+import com.dishes.contracts.dto.BalanceDebitResponse;
+import com.dishes.contracts.dto.OrderValidationMessage;
+import com.dishes.contracts.dto.StockReservationResponse;
+import com.dishes.orderservice.client.DishServiceClient;
+import com.dishes.orderservice.client.UserServiceClient;
+import com.dishes.orderservice.config.NotificationConfig;
+import com.dishes.orderservice.config.OrderValidationConfig;
+import com.dishes.orderservice.mapper.OrderMapper;
+import com.dishes.orderservice.model.Order;
+import com.dishes.orderservice.model.OrderSaga;
+import com.dishes.orderservice.repository.OrderRepository;
+import com.dishes.orderservice.repository.OrderSagaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Runs a new order through stock reservation and payment as one saga, replacing the chain of
+ * stock-check, payment-validation and completion/rejection queue hops.
+ * The broker carries a single message per order, sent through the outbox; the two steps are then
+ * called concurrently and their outcome is recorded in order_sagas as each one is known. Reserving,
+ * debiting and their compensations are all idempotent per order downstream, so a saga can be
+ * resumed from any state. Only a step that was refused (success=false or a 4xx) fails the saga; an
+ * error that leaves the outcome unknown is thrown out of run so the message is retried.
+ * Each step is observed as order.saga.stage: a timer tagged with the stage and any error, and a
+ * span in the trace of the order, which the HTTP calls made by the step join.
+ */
+@Service
+public class OrderSagaOrchestrator {
+    private static final Logger logger = LoggerFactory.getLogger(OrderSagaOrchestrator.class);
+
+    @Autowired
+    private OrderSagaRepository sagaRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private DishServiceClient dishServiceClient;
+
+    @Autowired
+    private UserServiceClient userServiceClient;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private LoggingService loggingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    @Qualifier("interServiceExecutor")
+    private Executor executor;
+
+    @Value("${order.minimum.charge:10.0}")
+    private BigDecimal minimumOrderCharge;
+
+    /**
+     * Records the saga of a new order and its start message in the caller's transaction;
+     * the outbox relay publishes the message once that commits
+     * @param order The saved order, with its items
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void start(Order order) {
+        OrderSaga saga = new OrderSaga();
+        saga.setOrderId(order.getId());
+        sagaRepository.save(saga);
+
+        outboxService.enqueue(
+            OrderValidationConfig.ORDER_VALIDATION_EXCHANGE,
+            OrderValidationConfig.ORDER_SAGA_ROUTING_KEY,
+            orderMapper.toValidationMessage(order)
+        );
+    }
+
+    /**
+     * Advances the saga of an order as far as it can go. Repeating it, or running it for a
+     * finished saga, does nothing that has not already been done.
+     * @throws RuntimeException if a step failed without an answer, e.g. a timeout or a 5xx; the saga
+     *         stays where it was and can be run again
+     */
+    public void run(OrderValidationMessage message) {
+        OrderSaga saga = sagaRepository.findByOrderId(message.getOrderId()).orElse(null);
+        if (saga == null) {
+            logger.warn("No saga found for order ID: {}", message.getOrderId());
+            return;
+        }
+        if (saga.getState().isFinished()) {
+            logger.info("Saga for order {} already finished as {}", message.getOrderId(), saga.getState());
+            return;
+        }
+
+        try {
+            if (saga.getState() != OrderSaga.State.COMPENSATING) {
+                saga = runSteps(saga, message);
+            }
+            if (saga.getState() == OrderSaga.State.COMPENSATING) {
+                compensate(saga, message);
+            }
+        } catch (OptimisticLockingFailureException e) {
+            // Another delivery of the same saga moved it on first; that one carries on
+            logger.info("Saga for order {} was advanced concurrently, stopping here", message.getOrderId());
+        }
+    }
+
+    /**
+     * Rebuilds the saga messages of the given orders, for resuming their sagas
+     */
+    @Transactional(readOnly = true)
+    public List<OrderValidationMessage> getMessages(Collection<Long> orderIds) {
+        return orderRepository.findAllById(orderIds).stream()
+                .map(orderMapper::toValidationMessage)
+                .toList();
+    }
+
+    private OrderSaga runSteps(OrderSaga saga, OrderValidationMessage message) {
+        Long orderId = message.getOrderId();
+
+        if (message.getTotalAmount().compareTo(minimumOrderCharge) < 0) {
+            // Nothing has been reserved or charged, so there is nothing to compensate
+            saga.setPaymentFailed(true);
+            saga.setFailureReason("Order amount $" + message.getTotalAmount()
+                + " is below minimum charge of $" + minimumOrderCharge);
+            finishRejected(saga);
+            return saga;
+        }
+
+        // Reservation and payment do not depend on each other, so both calls are in flight together
+        CompletableFuture<StockReservationResponse> reservation = saga.getState() == OrderSaga.State.PENDING
+            ? timedAsync("reserve", () -> dishServiceClient.reserveStock(orderId, message.getItems()))
+            : null;
+        CompletableFuture<BalanceDebitResponse> payment = saga.getState() != OrderSaga.State.PAID
+            ? timedAsync("debit", () -> userServiceClient.debitBalance(
+                message.getCustomerId(), message.getTotalAmount(), orderId))
+            : null;
+
+        if (reservation != null) {
+            String failure;
+            try {
+                failure = reservationFailure(reservation, orderId);
+            } catch (RuntimeException e) {
+                // Let the debit finish too, so the retried saga does not race it
+                awaitQuietly(payment);
+                throw e;
+            }
+            if (failure != null) {
+                // Let the debit finish first, so the refund cannot overtake it
+                awaitQuietly(payment);
+                return fail(saga, failure, false);
+            }
+            saga = advance(saga, OrderSaga.State.STOCK_RESERVED);
+        }
+
+        if (payment != null) {
+            String failure = paymentFailure(payment, message);
+            if (failure != null) {
+                return fail(saga, failure, true);
+            }
+            saga = advance(saga, OrderSaga.State.PAID);
+        }
+
+        return complete(saga);
+    }
+
+    private String reservationFailure(CompletableFuture<StockReservationResponse> reservation, Long orderId) {
+        try {
+            StockReservationResponse response = reservation.join();
+            if (response == null) {
+                throw new IllegalStateException("No response reserving stock for order " + orderId);
+            }
+            if (response.isSuccess()) {
+                return null;
+            }
+
+            StringBuilder failure = new StringBuilder();
+            if (response.getMessage() != null) {
+                failure.append(response.getMessage()).append("; ");
+            }
+            for (StockReservationResponse.ItemResult item : response.getItems()) {
+                if (!item.isReserved() && item.getMessage() != null) {
+                    failure.append("Dish ").append(item.getDishId()).append(": ")
+                        .append(item.getMessage()).append("; ");
+                }
+            }
+            logger.error("Could not reserve stock for order {}: {}", orderId, failure);
+            return failure.toString();
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof HttpClientErrorException rejected)) {
+                throw retryable("reserving stock for order " + orderId, e);
+            }
+            logger.error("Stock reservation for order {} was refused: {}", orderId, rejected.getMessage());
+            return "Error reserving stock: " + rejected.getMessage() + "; ";
+        }
+    }
+
+    private String paymentFailure(CompletableFuture<BalanceDebitResponse> payment, OrderValidationMessage message) {
+        try {
+            BalanceDebitResponse debit = payment.join();
+            if (debit == null) {
+                throw new IllegalStateException("No response debiting user " + message.getCustomerId()
+                    + " for order " + message.getOrderId());
+            }
+            if (debit.isSuccess()) {
+                return null;
+            }
+
+            logger.error("Insufficient balance: User {} has ${} but order requires ${}",
+                message.getCustomerId(), debit.getBalance(), message.getTotalAmount());
+            return "Insufficient balance: You have $" + debit.getBalance()
+                + " but the order requires $" + message.getTotalAmount() + "; ";
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof HttpClientErrorException rejected)) {
+                throw retryable("debiting user " + message.getCustomerId() + " for order " + message.getOrderId(), e);
+            }
+            logger.error("Debit for order {} was refused: {}", message.getOrderId(), rejected.getMessage());
+            return "Error checking user balance: " + rejected.getMessage() + "; ";
+        }
+    }
+
+    private OrderSaga advance(OrderSaga saga, OrderSaga.State state) {
+        saga.setState(state);
+        return sagaRepository.save(saga);
+    }
+
+    private OrderSaga fail(OrderSaga saga, String reason, boolean paymentFailed) {
+        saga.setState(OrderSaga.State.COMPENSATING);
+        saga.setPaymentFailed(paymentFailed);
+        saga.setFailureReason(reason);
+        return sagaRepository.save(saga);
+    }
+
+    private OrderSaga complete(OrderSaga saga) {
+        boolean completed = Boolean.TRUE.equals(timed("complete", () -> transactionTemplate.execute(status -> {
+            Order order = orderRepository.findById(saga.getOrderId())
+                .orElseThrow(() -> new RuntimeException("Order not found with id: " + saga.getOrderId()));
+            if (order.getStatus() == Order.OrderStatus.CANCELLED) {
+                return false;
+            }
+
+            order.setStatus(Order.OrderStatus.COMPLETED);
+            order.setPaymentStatus(Order.PaymentStatus.PAID);
+            saga.setState(OrderSaga.State.COMPLETED);
+            sagaRepository.save(saga);
+            return true;
+        })));
+
+        if (!completed) {
+            return fail(saga, "Order was cancelled; ", false);
+        }
+        meterRegistry.counter("order.saga.finished", "state", OrderSaga.State.COMPLETED.name()).increment();
+        loggingService.logInfo("Payment validation successful for order " + saga.getOrderId());
+        return saga;
+    }
+
+    private void compensate(OrderSaga saga, OrderValidationMessage message) {
+        Long orderId = message.getOrderId();
+
+        // Both undo calls are no-ops for a step that never took effect, so they are always made
+        CompletableFuture<StockReservationResponse> release =
+            timedAsync("release", () -> dishServiceClient.releaseStock(orderId));
+        CompletableFuture<BalanceDebitResponse> refund =
+            timedAsync("refund", () -> userServiceClient.refundBalance(message.getCustomerId(), orderId));
+        String refusals;
+        try {
+            refusals = undoRefusal("Stock release", release, orderId) + undoRefusal("Refund", refund, orderId);
+        } catch (IllegalStateException e) {
+            logger.error("Compensation for order {} got no response, leaving it for recovery", orderId);
+            return;
+        } catch (CompletionException e) {
+            logger.error("Compensation for order {} failed, leaving it for recovery: {}",
+                orderId, e.getCause().getMessage());
+            return;
+        }
+
+        if (!refusals.isEmpty()) {
+            // A refused undo would be refused again on every retry, so the saga finishes with it on record
+            String reason = (saga.getFailureReason() == null ? "" : saga.getFailureReason()) + refusals;
+            saga.setFailureReason(reason.length() > 1000 ? reason.substring(0, 1000) : reason);
+            loggingService.logError("Compensation for order " + orderId + " was refused: " + refusals);
+        }
+        finishRejected(saga);
+    }
+
+    /**
+     * Waits for one undo call. A refusal (4xx) is returned as a reason rather than thrown, since
+     * retrying cannot change it; an unknown outcome is thrown so the saga is left for recovery.
+     * @return The refusal, or an empty string if the undo went through
+     */
+    private String undoRefusal(String step, CompletableFuture<?> undo, Long orderId) {
+        try {
+            if (undo.join() == null) {
+                throw new IllegalStateException("No response to " + step + " for order " + orderId);
+            }
+            return "";
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof HttpClientErrorException rejected)) {
+                throw e;
+            }
+            logger.error("{} for order {} was refused: {}", step, orderId, rejected.getMessage());
+            return step + " refused: " + rejected.getMessage() + "; ";
+        }
+    }
+
+    private void finishRejected(OrderSaga saga) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findById(saga.getOrderId())
+                .orElseThrow(() -> new RuntimeException("Order not found with id: " + saga.getOrderId()));
+            if (order.getStatus() != Order.OrderStatus.CANCELLED) {
+                order.setStatus(Order.OrderStatus.REJECTED);
+            }
+            if (saga.isPaymentFailed()) {
+                order.setPaymentStatus(Order.PaymentStatus.FAILED);
+            }
+            saga.setState(OrderSaga.State.REJECTED);
+            sagaRepository.save(saga);
+        });
+        meterRegistry.counter("order.saga.finished", "state", OrderSaga.State.REJECTED.name()).increment();
+
+        if (saga.isPaymentFailed()) {
+            loggingService.logError("Order " + saga.getOrderId() + " rejected due to payment failure: " + saga.getFailureReason());
+
+            // Send payment failure notification to admin via direct exchange
+            if (rabbitTemplate != null) {
+                rabbitTemplate.convertAndSend(
+                    NotificationConfig.PAYMENT_EXCHANGE,
+                    NotificationConfig.PAYMENT_FAILED_ROUTING_KEY,
+                    "Order " + saga.getOrderId() + " payment failed: " + saga.getFailureReason()
+                );
+            }
+        } else {
+            loggingService.logWarning("Order " + saga.getOrderId() + " rejected: " + saga.getFailureReason());
+        }
+    }
+
+    private <T> CompletableFuture<T> timedAsync(String stage, Supplier<T> step) {
+        // The executor carries the current observation over, so the stage is observed as its child
+        return CompletableFuture.supplyAsync(() -> observation(stage).observe(step), executor);
+    }
+
+    private <T> T timed(String stage, Supplier<T> step) {
+        return observation(stage).observe(step);
+    }
+
+    private Observation observation(String stage) {
+        return Observation.createNotStarted("order.saga.stage", observationRegistry)
+                .lowCardinalityKeyValue("stage", stage);
+    }
+
+    /**
+     * Unwraps a step error whose outcome is unknown (timeout, 5xx, no instance), to be thrown out of run
+     */
+    private RuntimeException retryable(String action, CompletionException e) {
+        logger.warn("Error {}, the saga will be retried: {}", action, e.getCause().getMessage());
+        return e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+
+    private void awaitQuietly(CompletableFuture<?> future) {
+        if (future == null) {
+            return;
+        }
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            // The outcome is unknown either way; compensation refunds it if it went through
+        }
+    }
+}
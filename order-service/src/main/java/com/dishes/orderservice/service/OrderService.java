@@ -1,12 +1,23 @@
 package com.dishes.orderservice.service;
 
+import com.dishes.contracts.dto.DishDTO;
+import com.dishes.orderservice.client.DishServiceClient;
 import com.dishes.orderservice.model.Order;
 import com.dishes.orderservice.model.OrderItem;
 import com.dishes.orderservice.repository.OrderRepository;
-import com.dishes.orderservice.dto.DishDTO;
+import com.dishes.orderservice.repository.OrderSagaRepository;
+import com.dishes.orderservice.dto.OrderDTO;
+import com.dishes.orderservice.dto.OrderHistoryCursor;
+import com.dishes.orderservice.dto.OrderItemRow;
+import com.dishes.orderservice.dto.OrderSummaryRow;
+import com.dishes.orderservice.mapper.OrderMapper;
 import com.dishes.orderservice.dto.UserDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
@@ -18,12 +29,13 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
-    private static final String DISH_SERVICE_URL = "http://localhost:8082/api/dishes";
-    private static final String USER_SERVICE_BASE_URL = "http://localhost:8081/api/users";
 
     @Autowired
     private OrderRepository orderRepository;
@@ -31,9 +43,25 @@ public class OrderService {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Value("${services.user-service.url:http://user-service}/api/users")
+    private String userServiceBaseUrl;
+
+    @Autowired
+    private DishServiceClient dishServiceClient;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private OrderSagaRepository orderSagaRepository;
+
+    @Autowired
+    @Qualifier("interServiceExecutor")
+    private Executor interServiceExecutor;
+
     @Lazy
     @Autowired
-    private OrderValidationService orderValidationService;
+    private OrderSagaOrchestrator orderSagaOrchestrator;
 
     @Transactional
     public Order createOrder(Long userId, List<Map<String, Object>> items) {
@@ -47,22 +75,20 @@ public class OrderService {
             throw new RuntimeException("Order must contain at least one item");
         }
 
-        // Get user information for customer name
-        UserDTO user = fetchUserInfo(userId);
+        // Get user information for customer name, concurrently with the dish lookup below
+        CompletableFuture<UserDTO> userFuture =
+            CompletableFuture.supplyAsync(() -> fetchUserInfo(userId), interServiceExecutor);
 
         Order order = new Order();
         order.setCustomerId(userId);
-        
-        // Set the customer name if available
-        if (user != null) {
-            order.setCustomerName(user.getUsername());
-        }
-        
         order.setStatus(Order.OrderStatus.PENDING);
         
         List<OrderItem> orderItems = new ArrayList<>();
         BigDecimal totalAmount = BigDecimal.ZERO;
 
+        // Parse the cart first so all dishes can be resolved with a single dish-service call
+        List<Long> dishIds = new ArrayList<>();
+        List<Integer> quantities = new ArrayList<>();
         for (Map<String, Object> item : items) {
             try {
                 if (item.get("dishId") == null) {
@@ -75,44 +101,56 @@ public class OrderService {
                     throw new RuntimeException("Missing quantity in order item");
                 }
                 
-                Long dishId = Long.valueOf(item.get("dishId").toString());
-                Integer quantity = Integer.valueOf(item.get("quantity").toString());
-
-                // Get dish details from dish service
-                String dishServiceUrl = DISH_SERVICE_URL + "/" + dishId;
-                try {
-                    DishDTO dish = restTemplate.getForObject(dishServiceUrl, DishDTO.class);
-
-                    if (dish == null) {
-                        logger.error("Dish not found with id: {}", dishId);
-                        throw new RuntimeException("Dish not found with id: " + dishId);
-                    }
-
-                    if (!dish.isAvailable()) {
-                        logger.error("Dish is not available: {}", dish.getName());
-                        throw new RuntimeException("Dish is not available: " + dish.getName());
-                    }
-
-                    OrderItem orderItem = new OrderItem();
-                    orderItem.setDishId(dishId);
-                    orderItem.setDishName(dish.getName());
-                    orderItem.setPrice(dish.getPrice().doubleValue());
-                    orderItem.setQuantity(quantity);
-                    orderItem.setSubtotal(dish.getPrice().doubleValue() * quantity);
-                    orderItem.setSellerId(dish.getSellerId());
-                    orderItem.setOrder(order);
-                    orderItems.add(orderItem);
-                    totalAmount = totalAmount.add(BigDecimal.valueOf(orderItem.getSubtotal()));
-                } catch (Exception e) {
-                    logger.error("Error fetching dish from dish service: {}", e.getMessage(), e);
-                    throw new RuntimeException("Error fetching dish details: " + e.getMessage());
-                }
+                dishIds.add(Long.valueOf(item.get("dishId").toString()));
+                quantities.add(Integer.valueOf(item.get("quantity").toString()));
             } catch (Exception e) {
                 logger.error("Error processing order item: {}", item, e);
                 throw new RuntimeException("Error processing order item: " + e.getMessage());
             }
         }
 
+        // Get dish details from dish service
+        Map<Long, DishDTO> dishes;
+        try {
+            dishes = dishServiceClient.getDishes(dishIds);
+        } catch (Exception e) {
+            logger.error("Error fetching dishes from dish service: {}", e.getMessage(), e);
+            throw new RuntimeException("Error fetching dish details: " + e.getMessage());
+        }
+
+        for (int i = 0; i < dishIds.size(); i++) {
+            Long dishId = dishIds.get(i);
+            Integer quantity = quantities.get(i);
+            DishDTO dish = dishes.get(dishId);
+
+            if (dish == null) {
+                logger.error("Dish not found with id: {}", dishId);
+                throw new RuntimeException("Dish not found with id: " + dishId);
+            }
+
+            if (!Boolean.TRUE.equals(dish.getAvailable())) {
+                logger.error("Dish is not available: {}", dish.getName());
+                throw new RuntimeException("Dish is not available: " + dish.getName());
+            }
+
+            OrderItem orderItem = new OrderItem();
+            orderItem.setDishId(dishId);
+            orderItem.setDishName(dish.getName());
+            orderItem.setPrice(dish.getPrice());
+            orderItem.setQuantity(quantity);
+            orderItem.setSubtotal(dish.getPrice() * quantity);
+            orderItem.setSellerId(dish.getSellerId());
+            orderItem.setOrder(order);
+            orderItems.add(orderItem);
+            totalAmount = totalAmount.add(BigDecimal.valueOf(orderItem.getSubtotal()));
+        }
+
+        // Set the customer name if available
+        UserDTO user = userFuture.join();
+        if (user != null) {
+            order.setCustomerName(user.getUsername());
+        }
+
         if (orderItems.isEmpty()) {
             throw new RuntimeException("No valid items in the order");
         }
@@ -121,13 +159,8 @@ public class OrderService {
         order.setTotalAmount(totalAmount);
         Order savedOrder = orderRepository.save(order);
         
-        // Trigger order validation after saving
-        try {
-            orderValidationService.startOrderValidation(savedOrder);
-        } catch (Exception e) {
-            logger.error("Error initiating order validation: {}", e.getMessage(), e);
-            // Don't disrupt existing flow by throwing exceptions, just log it
-        }
+        // Record the order's saga in this transaction; it starts once the order is committed
+        orderSagaOrchestrator.start(savedOrder);
         
         return savedOrder;
     }
@@ -136,8 +169,47 @@ public class OrderService {
         return orderRepository.findByCustomerId(userId);
     }
 
+    /**
+     * Reads one keyset page of a customer's orders, newest first, as DTOs built from projections:
+     * two queries per page and no managed entities
+     * @param cursor position of the last order already seen, or null for the first page
+     * @param limit maximum number of orders to return
+     */
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrderHistory(Long customerId, OrderHistoryCursor cursor, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        List<OrderSummaryRow> orders = cursor == null
+                ? orderRepository.findOrderHistory(customerId, pageable)
+                : orderRepository.findOrderHistoryAfter(customerId, cursor.getCreatedAt(), cursor.getId(), pageable);
+        return toOrderDTOs(orders);
+    }
+
+    /**
+     * Reads a single order as a DTO built from projections
+     */
+    @Transactional(readOnly = true)
+    public OrderDTO getOrderSummary(Long orderId) {
+        OrderSummaryRow order = orderRepository.findOrderSummaryById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+        return toOrderDTOs(List.of(order)).get(0);
+    }
+
+    private List<OrderDTO> toOrderDTOs(List<OrderSummaryRow> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<OrderItemRow>> itemsByOrderId = orderRepository
+                .findItemRowsByOrderIdIn(orders.stream().map(OrderSummaryRow::id).toList())
+                .stream()
+                .collect(Collectors.groupingBy(OrderItemRow::orderId));
+        return orders.stream()
+                .map(order -> orderMapper.toDTO(order, itemsByOrderId.getOrDefault(order.id(), List.of())))
+                .toList();
+    }
+
     public Order getOrder(Long orderId) {
-        return orderRepository.findById(orderId)
+        return orderRepository.findWithItemsById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
     }
 
@@ -179,23 +251,6 @@ public class OrderService {
         orderRepository.save(order);
     }
 
-    public List<Order> getOrdersBySeller(Long sellerId) {
-        // Modified to search for orders containing items from a specific seller
-        List<Order> allOrders = orderRepository.findAll();
-        List<Order> sellerOrders = new ArrayList<>();
-        
-        for (Order order : allOrders) {
-            for (OrderItem item : order.getItems()) {
-                if (item.getSellerId() != null && item.getSellerId().equals(sellerId)) {
-                    sellerOrders.add(order);
-                    break;
-                }
-            }
-        }
-        
-        return sellerOrders;
-    }
-
     public List<Order> getOrdersByCustomer(Long customerId) {
         return orderRepository.findByCustomerId(customerId);
     }
@@ -221,13 +276,10 @@ public class OrderService {
         // Save order with items
         Order savedOrder = orderRepository.save(order);
         
-        // Start validation if the order is pending
-        if (savedOrder.getStatus() == Order.OrderStatus.PENDING) {
-            try {
-                orderValidationService.startOrderValidation(savedOrder);
-            } catch (Exception e) {
-                logger.error("Error initiating order validation: {}", e.getMessage(), e);
-            }
+        // Start the saga if the order is new and pending
+        if (savedOrder.getStatus() == Order.OrderStatus.PENDING
+                && orderSagaRepository.findByOrderId(savedOrder.getId()).isEmpty()) {
+            orderSagaOrchestrator.start(savedOrder);
         }
         
         return savedOrder;
@@ -235,7 +287,7 @@ public class OrderService {
 
     private UserDTO fetchUserInfo(Long userId) {
         try {
-            String userServiceUrl = USER_SERVICE_BASE_URL + "/" + userId;
+            String userServiceUrl = userServiceBaseUrl + "/" + userId;
             return restTemplate.getForObject(userServiceUrl, UserDTO.class);
         } catch (org.springframework.web.client.HttpClientErrorException.NotFound e) {
             // Silently handle 404 errors - user service not available
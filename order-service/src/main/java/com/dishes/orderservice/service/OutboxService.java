@@ -0,0 +1,65 @@
+package com.dishes.orderservice.service;
+
+import com.dishes.orderservice.job.OutboxRelay;
+import com.dishes.orderservice.model.OutboxMessage;
+import com.dishes.orderservice.repository.OutboxMessageRepository;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Queues broker messages in the outbox table as part of the caller's transaction,
+ * so a message is sent if and only if that transaction commits. The current trace context is
+ * stored with it, so the consumer continues the trace although the relay sends it later.
+ */
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    @Qualifier("sagaMessageConverter")
+    private MessageConverter messageConverter;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired(required = false)
+    private Tracer tracer;
+
+    @Autowired(required = false)
+    private Propagator propagator;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String exchange, String routingKey, Object payload) {
+        Message message = messageConverter.toMessage(payload, new MessageProperties());
+        OutboxMessage outboxMessage = OutboxMessage.of(exchange, routingKey, message);
+        TraceContext traceContext = tracer != null ? tracer.currentTraceContext().context() : null;
+        if (traceContext != null && propagator != null) {
+            Map<String, String> traceHeaders = outboxMessage.getTraceHeaders();
+            propagator.inject(traceContext, traceHeaders, Map::put);
+        }
+        outboxMessageRepository.save(outboxMessage);
+
+        // Publish right after commit instead of waiting for the next poll
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
+    }
+}
@@ -1,5 +1,7 @@
 package com.dishes.orderservice.service;
 
+import com.dishes.contracts.dto.BalanceDebitResponse;
+import com.dishes.orderservice.client.UserServiceClient;
 import com.dishes.orderservice.dto.PaymentRequest;
 import com.dishes.orderservice.dto.PaymentResponse;
 import com.dishes.orderservice.model.Order;
@@ -9,23 +11,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.Map;
 
 @Service
 public class PaymentService {
     private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
-    private static final String USER_SERVICE_URL = "http://localhost:8081/api/users";
     
     @Autowired
     private OrderService orderService;
     
     @Autowired
-    private RestTemplate restTemplate;
+    private UserServiceClient userServiceClient;
     
     @Value("${order.minimum.charge:10.0}")
     private BigDecimal minimumOrderCharge;
@@ -77,16 +75,14 @@ public class PaymentService {
             );
         }
         
-        // Check user balance in user service
+        // Check and debit the user's balance in a single user-service call
         try {
             Long customerId = order.getCustomerId();
             BigDecimal orderAmount = order.getTotalAmount();
             
-            // Get current balance
-            String balanceUrl = USER_SERVICE_URL + "/" + customerId + "/balance";
-            BigDecimal currentBalance;
+            BalanceDebitResponse debit;
             try {
-                currentBalance = restTemplate.getForObject(balanceUrl, BigDecimal.class);
+                debit = userServiceClient.debitBalance(customerId, orderAmount, order.getId());
             } catch (HttpClientErrorException.NotFound e) {
                 // Silently handle 404 errors - user service not available
                 logger.warn("User service not available for balance check");
@@ -96,10 +92,10 @@ public class PaymentService {
                 );
             }
             
-            // Check if balance is sufficient
-            if (currentBalance == null || currentBalance.compareTo(orderAmount) < 0) {
+            // Check if balance was sufficient
+            if (debit == null || !debit.isSuccess()) {
                 logger.error("Insufficient balance: {} for order amount: {}", 
-                    currentBalance, orderAmount);
+                    debit != null ? debit.getBalance() : null, orderAmount);
                 
                 return PaymentResponse.failed(
                     request.getOrderId(),
@@ -107,13 +103,6 @@ public class PaymentService {
                 );
             }
             
-            // Update balance by deducting order amount
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("amount", orderAmount);
-            
-            // Call user service to update balance
-            restTemplate.postForObject(balanceUrl, payload, BigDecimal.class);
-            
             // Update order payment status to paid
             order.setPaymentStatus(Order.PaymentStatus.PAID);
             orderService.createOrder(order);
@@ -0,0 +1,151 @@
+package com.dishes.orderservice.service;
+
+import com.dishes.orderservice.config.OrderValidationConfig;
+import com.dishes.orderservice.repository.OrderSagaRepository;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes saga messages that failed their in-process retries: back through the dead-letter queue for
+ * a delayed redelivery, or to the parking lot once they have been redelivered max-redeliveries times.
+ * Parked messages stay there until replayed, and their sagas are marked parked so recovery skips them.
+ */
+@Service
+public class SagaDeadLetterService {
+    private static final Logger logger = LoggerFactory.getLogger(SagaDeadLetterService.class);
+
+    // Redeliveries through the dead-letter queue so far, and the last error of a parked message
+    private static final String REDELIVERIES_HEADER = "x-saga-redeliveries";
+    private static final String ERROR_HEADER = "x-saga-error";
+    // Order of a parked message, read back on replay to clear its saga's parked marker
+    private static final String ORDER_ID_HEADER = "x-saga-order-id";
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private OrderSagaRepository sagaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${order.saga.retry.max-redeliveries:5}")
+    private int maxRedeliveries;
+
+    @Value("${order.saga.retry.redelivery-delay-ms:30000}")
+    private long redeliveryDelayMs;
+
+    /**
+     * Sends a message whose saga kept failing to the dead-letter queue, or parks it
+     * @param orderId The order of the message's saga
+     */
+    public void deadLetter(Message message, Long orderId, Throwable cause) {
+        int redeliveries = redeliveries(message);
+        if (redeliveries >= maxRedeliveries) {
+            park(message, orderId, cause);
+            return;
+        }
+
+        logger.warn("Saga message {} failed, redelivery {} of {}: {}",
+                message.getMessageProperties().getMessageId(), redeliveries + 1, maxRedeliveries, errorOf(cause));
+        message.getMessageProperties().setHeader(REDELIVERIES_HEADER, redeliveries + 1);
+        // Set per message, so the delay can be tuned without redeclaring the dead-letter queue
+        message.getMessageProperties().setExpiration(
+                String.valueOf(Math.min(redeliveryDelayMs, OrderValidationConfig.ORDER_SAGA_DLQ_MAX_TTL_MS)));
+        rabbitTemplate.send(OrderValidationConfig.ORDER_SAGA_DLX, OrderValidationConfig.ORDER_SAGA_ROUTING_KEY, message);
+    }
+
+    /**
+     * Moves a message straight to the parking lot, e.g. one that cannot even be read
+     * @param orderId The order of the message's saga, or null if the message could not be read
+     */
+    public void park(Message message, Long orderId, Throwable cause) {
+        logger.error("Parking saga message {}: {}", message.getMessageProperties().getMessageId(), errorOf(cause));
+        message.getMessageProperties().setHeader(ERROR_HEADER, errorOf(cause));
+        if (orderId != null) {
+            message.getMessageProperties().setHeader(ORDER_ID_HEADER, orderId);
+            setParkedAt(List.of(orderId), LocalDateTime.now());
+        }
+        rabbitTemplate.send(OrderValidationConfig.ORDER_SAGA_DLX, OrderValidationConfig.ORDER_SAGA_PARKED_ROUTING_KEY, message);
+    }
+
+    /**
+     * Sends up to max parked messages back to the saga queue with their redelivery count reset,
+     * and clears the parked marker of their sagas so recovery picks them up again if they stall.
+     * Each one is acked only after it has been republished, so a failure part way loses nothing.
+     * @return The number of messages replayed
+     */
+    public int replayParked(int max) {
+        List<Long> orderIds = new ArrayList<>();
+        Integer replayed = rabbitTemplate.execute(channel -> {
+            int count = 0;
+            GetResponse response;
+            while (count < max
+                    && (response = channel.basicGet(OrderValidationConfig.ORDER_SAGA_PARKING_LOT_QUEUE, false)) != null) {
+                AMQP.BasicProperties properties = response.getProps();
+                Map<String, Object> headers = properties.getHeaders() == null
+                        ? new HashMap<>() : new HashMap<>(properties.getHeaders());
+                headers.remove(REDELIVERIES_HEADER);
+                headers.remove(ERROR_HEADER);
+                if (headers.remove(ORDER_ID_HEADER) instanceof Number orderId) {
+                    orderIds.add(orderId.longValue());
+                }
+
+                channel.basicPublish(OrderValidationConfig.ORDER_VALIDATION_EXCHANGE,
+                        OrderValidationConfig.ORDER_SAGA_ROUTING_KEY,
+                        properties.builder().headers(headers).build(), response.getBody());
+                channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+                count++;
+            }
+            return count;
+        });
+        int count = replayed == null ? 0 : replayed;
+        if (!orderIds.isEmpty()) {
+            setParkedAt(orderIds, null);
+        }
+        logger.info("Replayed {} parked saga messages", count);
+        return count;
+    }
+
+    private void setParkedAt(List<Long> orderIds, LocalDateTime parkedAt) {
+        transactionTemplate.executeWithoutResult(status -> sagaRepository.setParkedAt(orderIds, parkedAt));
+    }
+
+    private int redeliveries(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        Object header = properties.getHeader(REDELIVERIES_HEADER);
+        int redeliveries = header instanceof Number number ? number.intValue() : 0;
+
+        // Rejections by the container reach the dead-letter queue without the header; the broker counts those
+        List<Map<String, ?>> deaths = properties.getXDeathHeader();
+        if (deaths != null) {
+            for (Map<String, ?> death : deaths) {
+                if (OrderValidationConfig.ORDER_SAGA_QUEUE.equals(String.valueOf(death.get("queue")))
+                        && "rejected".equals(String.valueOf(death.get("reason")))
+                        && death.get("count") instanceof Number count) {
+                    redeliveries += count.intValue();
+                }
+            }
+        }
+        return redeliveries;
+    }
+
+    private String errorOf(Throwable cause) {
+        return cause == null ? "unknown error" : cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+}
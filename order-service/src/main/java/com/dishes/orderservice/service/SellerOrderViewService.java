@@ -0,0 +1,89 @@
+package com.dishes.orderservice.service;
+
+import com.dishes.orderservice.dto.SellerOrderDTO;
+import com.dishes.orderservice.model.Order;
+import com.dishes.orderservice.model.OrderItem;
+import com.dishes.orderservice.model.SellerOrderView;
+import com.dishes.orderservice.repository.OrderRepository;
+import com.dishes.orderservice.repository.SellerOrderViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Reads and maintains the seller_order_view projection.
+ * Rows are always recomputed from the committed order, so a refresh can be repeated or
+ * replayed by the backfill job without drifting from orders/order_items.
+ */
+@Service
+public class SellerOrderViewService {
+    private static final Logger logger = LoggerFactory.getLogger(SellerOrderViewService.class);
+
+    @Autowired
+    private SellerOrderViewRepository sellerOrderViewRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Transactional(readOnly = true)
+    public Page<SellerOrderDTO> getSellerOrders(Long sellerId, Order.OrderStatus status,
+                                                Order.PaymentStatus paymentStatus, Pageable pageable) {
+        Page<SellerOrderView> views;
+        if (paymentStatus == null) {
+            views = status == null
+                    ? sellerOrderViewRepository.findBySellerIdOrderByCreatedAtDescOrderIdDesc(sellerId, pageable)
+                    : sellerOrderViewRepository.findBySellerIdAndStatusOrderByCreatedAtDescOrderIdDesc(sellerId, status, pageable);
+        } else {
+            views = status == null
+                    ? sellerOrderViewRepository.findBySellerIdAndPaymentStatusOrderByCreatedAtDescOrderIdDesc(
+                            sellerId, paymentStatus, pageable)
+                    : sellerOrderViewRepository.findBySellerIdAndStatusAndPaymentStatusOrderByCreatedAtDescOrderIdDesc(
+                            sellerId, status, paymentStatus, pageable);
+        }
+        return views.map(SellerOrderView::toDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<SellerOrderDTO> getSellerOrder(Long sellerId, Long orderId) {
+        return sellerOrderViewRepository.findBySellerIdAndOrderId(sellerId, orderId)
+                .map(SellerOrderView::toDTO);
+    }
+
+    /**
+     * Recomputes the projection rows of the given orders in a transaction of its own.
+     * Called after the order change has committed, and by the backfill job.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refresh(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+
+        // The row locks serialize concurrent refreshes of the same order; items of all orders are batch-fetched
+        List<Order> orders = orderRepository.findAllByIdInForUpdate(orderIds);
+        sellerOrderViewRepository.deleteByOrderIdIn(orderIds);
+
+        List<SellerOrderView> views = new ArrayList<>();
+        for (Order order : orders) {
+            order.getItems().stream()
+                    .map(OrderItem::getSellerId)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .map(sellerId -> SellerOrderView.fromDTO(SellerOrderDTO.fromOrder(order, sellerId), sellerId))
+                    .forEach(views::add);
+        }
+        sellerOrderViewRepository.saveAll(views);
+        logger.debug("Refreshed seller views of {} orders ({} found)", orderIds.size(), orders.size());
+    }
+}
@@ -0,0 +1,115 @@
+package com.dishes.orderservice.config;
+
+import com.dishes.contracts.dto.OrderValidationMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Round-trips OrderValidationMessage through the sagaMessageConverter the outbox writes with and the
+ * saga listener reads with, in both encodings order.messaging.content-type allows. Messages written
+ * by a newer producer, with fields this version does not know, must still read back.
+ */
+class SagaMessageConverterTest {
+
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
+    @ParameterizedTest
+    @ValueSource(strings = {CborMessageConverter.CONTENT_TYPE, MessageProperties.CONTENT_TYPE_JSON})
+    void roundTripsWithTypeHeader(String contentType) {
+        MessageConverter converter = sagaMessageConverter(contentType);
+        OrderValidationMessage message = message();
+
+        Message written = converter.toMessage(message, new MessageProperties());
+
+        assertEquals(contentType, written.getMessageProperties().getContentType());
+        assertEquals(OrderValidationMessage.class.getName(), written.getMessageProperties().getHeader(TYPE_ID_HEADER));
+        assertEquals(message, converter.fromMessage(written));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CborMessageConverter.CONTENT_TYPE, MessageProperties.CONTENT_TYPE_JSON})
+    void readsMessagesWrittenBeforeASwitch(String contentType) {
+        String otherContentType = CborMessageConverter.CONTENT_TYPE.equals(contentType)
+                ? MessageProperties.CONTENT_TYPE_JSON : CborMessageConverter.CONTENT_TYPE;
+        OrderValidationMessage message = message();
+
+        Message written = sagaMessageConverter(otherContentType).toMessage(message, new MessageProperties());
+
+        assertEquals(message, sagaMessageConverter(contentType).fromMessage(written));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CborMessageConverter.CONTENT_TYPE, MessageProperties.CONTENT_TYPE_JSON})
+    void ignoresFieldsOfNewerProducers(String contentType) throws Exception {
+        MessageConverter converter = sagaMessageConverter(contentType);
+        OrderValidationMessage message = message();
+
+        // Same headers as a message this version writes, with a body carrying extra fields
+        Message written = converter.toMessage(message, new MessageProperties());
+        ObjectMapper mapper = mapper(contentType);
+        Message newer = new Message(mapper.writeValueAsBytes(withUnknownFields(mapper, message)),
+                written.getMessageProperties());
+
+        assertEquals(message, converter.fromMessage(newer));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CborMessageConverter.CONTENT_TYPE, MessageProperties.CONTENT_TYPE_JSON})
+    void keepsTheSchemaVersionOfNewerProducers(String contentType) {
+        MessageConverter converter = sagaMessageConverter(contentType);
+        OrderValidationMessage message = message();
+        message.setSchemaVersion(OrderValidationMessage.SCHEMA_VERSION + 1);
+
+        // The saga listener parks these, which it can only do if the version reads back unchanged
+        OrderValidationMessage read = (OrderValidationMessage) converter.fromMessage(
+                converter.toMessage(message, new MessageProperties()));
+
+        assertEquals(OrderValidationMessage.SCHEMA_VERSION + 1, read.getSchemaVersion());
+    }
+
+    private MessageConverter sagaMessageConverter(String contentType) {
+        RabbitMQConfig config = new RabbitMQConfig();
+        ReflectionTestUtils.setField(config, "messageContentType", contentType);
+        return config.sagaMessageConverter();
+    }
+
+    private ObjectMapper mapper(String contentType) {
+        return CborMessageConverter.CONTENT_TYPE.equals(contentType) ? new CBORMapper() : new JsonMapper();
+    }
+
+    private OrderValidationMessage message() {
+        OrderValidationMessage.OrderItemInfo item = new OrderValidationMessage.OrderItemInfo();
+        item.setDishId(3L);
+        item.setDishName("Koshari");
+        item.setQuantity(2);
+        item.setSellerId(7L);
+
+        OrderValidationMessage message = new OrderValidationMessage();
+        message.setOrderId(11L);
+        message.setCustomerId(5L);
+        message.setTotalAmount(new BigDecimal("25.5"));
+        message.setItems(List.of(item));
+        return message;
+    }
+
+    // Fields a newer producer might add; adding fields does not bump the schema version
+    private ObjectNode withUnknownFields(ObjectMapper mapper, OrderValidationMessage message) {
+        ObjectNode tree = mapper.valueToTree(message);
+        tree.put("couponCode", "WELCOME10");
+        ((ObjectNode) tree.withArray("items").get(0)).put("notes", "no onions");
+        return tree;
+    }
+}
@@ -0,0 +1,116 @@
+package com.dishes.orderservice.service;
+
+import com.dishes.orderservice.client.DishServiceClient;
+import com.dishes.orderservice.dto.OrderDTO;
+import com.dishes.orderservice.mapper.OrderMapper;
+import com.dishes.orderservice.model.Order;
+import com.dishes.orderservice.model.OrderItem;
+import com.dishes.orderservice.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the order list reads stay at a fixed number of statements however many orders they return
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orders;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderService.class, OrderMapper.class})
+class OrderServiceStatementCountTest {
+    private static final Long CUSTOMER_ID = 42L;
+    private static final int ORDERS = 100;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @MockBean
+    private DishServiceClient dishServiceClient;
+
+    @MockBean
+    private OrderSagaOrchestrator orderSagaOrchestrator;
+
+    @MockBean(name = "interServiceExecutor")
+    private Executor interServiceExecutor;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void persistOrders() {
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setCustomerId(CUSTOMER_ID);
+            order.setTotalAmount(BigDecimal.valueOf(30));
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                OrderItem item = new OrderItem();
+                item.setDishId((long) j + 1);
+                item.setDishName("Dish " + (j + 1));
+                item.setPrice(10.0);
+                item.setQuantity(1);
+                item.setSubtotal(10.0);
+                item.setSellerId(7L);
+                item.setOrder(order);
+                order.getItems().add(item);
+            }
+            orderRepository.save(order);
+        }
+
+        // Start the reads from an empty persistence context and zeroed counters
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void orderHistoryReadsOrdersAndItemsInTwoStatements() {
+        List<OrderDTO> history = orderService.getOrderHistory(CUSTOMER_ID, null, ORDERS);
+
+        assertEquals(ORDERS, history.size());
+        history.forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getItems().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void userOrdersFetchItemsInOneStatement() {
+        List<Order> orders = orderService.getUserOrders(CUSTOMER_ID);
+
+        assertEquals(ORDERS, orders.size());
+        orders.forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getItems().size()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -29,6 +29,36 @@ function BuildAndRunService {
 # Main execution
 Write-Host "Starting rebuild and run process..." -ForegroundColor Yellow
 
+# Install the shared contracts module the services depend on
+Write-Host "`nBuilding contracts..." -ForegroundColor Cyan
+Set-Location contracts
+mvn clean install
+if ($LASTEXITCODE -ne 0) {
+    Write-Host "Failed to build contracts" -ForegroundColor Red
+    exit 1
+}
+Set-Location ..
+
+# Install the shared span file exporter the services depend on
+Write-Host "`nBuilding tracing-export..." -ForegroundColor Cyan
+Set-Location tracing-export
+mvn clean install
+if ($LASTEXITCODE -ne 0) {
+    Write-Host "Failed to build tracing-export" -ForegroundColor Red
+    exit 1
+}
+Set-Location ..
+
+# Install the shared log shipper the services depend on
+Write-Host "`nBuilding log-shipping..." -ForegroundColor Cyan
+Set-Location log-shipping
+mvn clean install
+if ($LASTEXITCODE -ne 0) {
+    Write-Host "Failed to build log-shipping" -ForegroundColor Red
+    exit 1
+}
+Set-Location ..
+
 # Build and run services in order
 BuildAndRunService -serviceName "user-service" -port "8081"
 BuildAndRunService -serviceName "dish-service" -port "8082"
@@ -0,0 +1,34 @@
+package com.dishes.tracing;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Registers a {@link FileSpanExporter} in services that set tracing.export.enabled=true
+ */
+@AutoConfiguration
+@ConditionalOnClass(SpanExporter.class)
+@ConditionalOnProperty(name = "tracing.export.enabled", havingValue = "true")
+public class FileSpanExportAutoConfiguration {
+
+    @Value("${tracing.export.file:traces/${spring.application.name:application}.jsonl}")
+    private String exportFile;
+
+    @Value("${tracing.export.max-file-size-mb:50}")
+    private long maxFileSizeMb;
+
+    /**
+     * Picked up by the OpenTelemetry auto-configuration, which hands it finished spans in batches
+     */
+    @Bean
+    public SpanExporter fileSpanExporter() throws IOException {
+        return new FileSpanExporter(Path.of(exportFile), maxFileSizeMb * 1024 * 1024);
+    }
+}
@@ -0,0 +1,120 @@
+package com.dishes.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes finished spans to a local file, one JSON object per line, for looking at traces without
+ * running a collector. Spans of all services share the W3C trace ID, so their files can be merged
+ * and grouped by traceId to follow an order across hops.
+ * Once the file would grow past maxFileBytes it is renamed to &lt;file&gt;.1, replacing the previous
+ * one, and a new file is started, so the spans kept on disk stay within twice that size.
+ */
+public class FileSpanExporter implements SpanExporter {
+    private static final Logger logger = LoggerFactory.getLogger(FileSpanExporter.class);
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path file;
+    private final Path rolledFile;
+    private final long maxFileBytes;
+    private OutputStream out;
+    private long fileBytes;
+
+    public FileSpanExporter(Path file, long maxFileBytes) throws IOException {
+        this.file = file;
+        this.rolledFile = file.resolveSibling(file.getFileName() + ".1");
+        this.maxFileBytes = maxFileBytes;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        open();
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                byte[] line = objectMapper.writeValueAsBytes(toMap(span));
+                if (fileBytes > 0 && fileBytes + line.length + 1 > maxFileBytes) {
+                    roll();
+                }
+                out.write(line);
+                out.write('\n');
+                fileBytes += line.length + 1;
+            }
+            out.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            logger.warn("Failed to write {} spans: {}", spans.size(), e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            out.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            out.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private void open() throws IOException {
+        out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        fileBytes = Files.size(file);
+    }
+
+    private void roll() throws IOException {
+        out.close();
+        Files.move(file, rolledFile, StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    private Map<String, Object> toMap(SpanData span) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("traceId", span.getTraceId());
+        line.put("spanId", span.getSpanId());
+        line.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        line.put("service", span.getResource().getAttribute(SERVICE_NAME));
+        line.put("name", span.getName());
+        line.put("kind", span.getKind().name());
+        line.put("startEpochMicros", TimeUnit.NANOSECONDS.toMicros(span.getStartEpochNanos()));
+        line.put("durationMicros", TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()));
+        line.put("status", span.getStatus().getStatusCode().name());
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        line.put("attributes", attributes);
+        return line;
+    }
+}
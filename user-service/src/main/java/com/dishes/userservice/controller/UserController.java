@@ -1,8 +1,13 @@
 package com.dishes.userservice.controller;
 
+import com.dishes.contracts.dto.BalanceDebitResponse;
+import com.dishes.userservice.model.BalanceLedgerEntry;
 import com.dishes.userservice.model.User;
 import com.dishes.userservice.repository.UserRepository;
+import com.dishes.userservice.service.BalanceService;
+import com.dishes.userservice.service.LedgerConflictException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -10,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/users")
@@ -18,6 +24,9 @@ public class UserController {
     @Autowired // this is used to inject the UserRepository bean into the UserController class
     private UserRepository userRepository;
 
+    @Autowired
+    private BalanceService balanceService;
+
     @PostMapping("/register")
     public ResponseEntity<User> registerUser(@RequestBody User user) {
         return ResponseEntity.ok(userRepository.save(user));
@@ -73,21 +82,91 @@ public class UserController {
     @PostMapping("/{userId}/balance")
     public ResponseEntity<BigDecimal> updateUserBalance(@PathVariable Long userId, @RequestBody Map<String, Object> payload) {
         BigDecimal amount = new BigDecimal(payload.get("amount").toString());
+        if (amount.signum() <= 0) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
         
-        return userRepository.findById(userId)
-                .map(user -> {
-                    BigDecimal currentBalance = user.getBalance();
-                    BigDecimal newBalance = currentBalance.subtract(amount);
-                    
-                    // Ensure balance doesn't go below zero
-                    if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
-                        return new ResponseEntity<BigDecimal>(HttpStatus.BAD_REQUEST);
-                    }
-                    
-                    user.setBalance(newBalance);
-                    userRepository.save(user);
-                    return ResponseEntity.ok(newBalance);
-                })
+        // Balance can't go below zero, insufficient funds is reported as a bad request
+        Optional<BalanceDebitResponse> debit;
+        try {
+            debit = debit(userId, amount, orderIdOf(payload));
+        } catch (LedgerConflictException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        return debit
+                .map(result -> result.isSuccess()
+                        ? ResponseEntity.ok(result.getBalance())
+                        : new ResponseEntity<BigDecimal>(HttpStatus.BAD_REQUEST))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
-} 
\ No newline at end of file
+    
+    // Debit user balance atomically, reporting insufficient funds in the body instead of an error status.
+    // Debits that carry an orderId are applied at most once per order.
+    // Repeating one for another user or amount is a conflict.
+    @PostMapping("/{userId}/balance/debit")
+    public ResponseEntity<BalanceDebitResponse> debitUserBalance(@PathVariable Long userId, @RequestBody Map<String, Object> payload) {
+        BigDecimal amount = new BigDecimal(payload.get("amount").toString());
+        if (amount.signum() <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        Optional<BalanceDebitResponse> result;
+        try {
+            result = debit(userId, amount, orderIdOf(payload));
+        } catch (LedgerConflictException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        return result
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Refund what an order was debited, used to compensate orders that fail after payment.
+    // Refunds are applied at most once per order, and only to the user the order was debited from.
+    @PostMapping("/{userId}/balance/refund")
+    public ResponseEntity<BalanceDebitResponse> refundUserBalance(@PathVariable Long userId, @RequestBody Map<String, Object> payload) {
+        Long orderId = orderIdOf(payload);
+        if (orderId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        Optional<BalanceDebitResponse> result;
+        try {
+            result = refund(userId, orderId);
+        } catch (LedgerConflictException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        return result
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Get the balance ledger for a user, newest entry first
+    @GetMapping("/{userId}/balance/ledger")
+    public ResponseEntity<List<BalanceLedgerEntry>> getBalanceLedger(@PathVariable Long userId) {
+        return ResponseEntity.ok(balanceService.getLedger(userId));
+    }
+    
+    private Optional<BalanceDebitResponse> debit(Long userId, BigDecimal amount, Long orderId) {
+        try {
+            return balanceService.debit(userId, amount, orderId);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request debited this order first, so this call now replays its result
+            return balanceService.debit(userId, amount, orderId);
+        }
+    }
+    
+    private Optional<BalanceDebitResponse> refund(Long userId, Long orderId) {
+        try {
+            return balanceService.refund(userId, orderId);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent debit or refund of this order committed first, so refund against it now
+            return balanceService.refund(userId, orderId);
+        }
+    }
+    
+    private Long orderIdOf(Map<String, Object> payload) {
+        Object orderId = payload.get("orderId");
+        return orderId != null ? Long.valueOf(orderId.toString()) : null;
+    }
+}
\ No newline at end of file
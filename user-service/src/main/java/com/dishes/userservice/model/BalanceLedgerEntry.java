@@ -0,0 +1,56 @@
+package com.dishes.userservice.model;
+
+import com.dishes.contracts.dto.BalanceDebitResponse;
+import lombok.Data;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "balance_ledger",
+       uniqueConstraints = @UniqueConstraint(name = "uk_balance_ledger_order_kind", columnNames = {"order_id", "kind"}),
+       indexes = @Index(name = "idx_balance_ledger_user", columnList = "user_id"))
+public class BalanceLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Kind kind;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "balance_after", nullable = false)
+    private BigDecimal balanceAfter;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Result of a repeated debit, rebuilt from this recorded one
+     */
+    public BalanceDebitResponse toReplayedDebitResponse() {
+        BalanceDebitResponse response = BalanceDebitResponse.success(userId, balanceAfter);
+        response.setReplayed(true);
+        return response;
+    }
+
+    public enum Kind {
+        DEBIT,
+        REFUND
+    }
+}
@@ -0,0 +1,12 @@
+package com.dishes.userservice.repository;
+
+import com.dishes.userservice.model.BalanceLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BalanceLedgerRepository extends JpaRepository<BalanceLedgerEntry, Long> {
+    Optional<BalanceLedgerEntry> findByOrderIdAndKind(Long orderId, BalanceLedgerEntry.Kind kind);
+    List<BalanceLedgerEntry> findByUserIdOrderByIdDesc(Long userId);
+}
@@ -1,10 +1,35 @@
 package com.dishes.userservice.repository;
 
 import com.dishes.userservice.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
-} 
\ No newline at end of file
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT u.balance FROM User u WHERE u.id = :id")
+    Optional<BigDecimal> findBalanceById(@Param("id") Long id);
+
+    /**
+     * Checks and subtracts in one statement so concurrent debits cannot overdraw the balance.
+     * @return 1 if the balance was debited, 0 if the user is missing or funds are insufficient
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.balance = u.balance - :amount WHERE u.id = :id AND u.balance >= :amount")
+    int debitBalance(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE User u SET u.balance = u.balance + :amount WHERE u.id = :id")
+    int creditBalance(@Param("id") Long id, @Param("amount") BigDecimal amount);
+}
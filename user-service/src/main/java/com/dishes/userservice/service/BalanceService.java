@@ -0,0 +1,163 @@
+package com.dishes.userservice.service;
+
+import com.dishes.contracts.dto.BalanceDebitResponse;
+import com.dishes.userservice.model.BalanceLedgerEntry;
+import com.dishes.userservice.repository.BalanceLedgerRepository;
+import com.dishes.userservice.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class BalanceService {
+    private static final Logger logger = LoggerFactory.getLogger(BalanceService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BalanceLedgerRepository ledgerRepository;
+
+    /**
+     * Debits a user's balance with a single conditional update.
+     * When an order ID is given the debit is recorded in the ledger, and repeating it
+     * for the same order returns the recorded result without charging again.
+     * @param userId The user to debit
+     * @param amount The amount to subtract, must be positive
+     * @param orderId The order being paid for, or null for an untracked debit
+     * @return the debit result, or empty if the user does not exist
+     * @throws LedgerConflictException if the order was already debited or refunded for another user or amount
+     * @throws org.springframework.dao.DataIntegrityViolationException if a concurrent debit
+     *         for the same order committed first; this debit is rolled back and may be retried
+     */
+    @Transactional
+    public Optional<BalanceDebitResponse> debit(Long userId, BigDecimal amount, Long orderId) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Debit amount must be positive");
+        }
+
+        if (orderId != null) {
+            // Debits and refunds of an order run one at a time, so a refund cannot slip in between these checks and the debit
+            if (userRepository.findByIdForUpdate(userId).isEmpty()) {
+                return Optional.empty();
+            }
+
+            Optional<BalanceLedgerEntry> existing =
+                ledgerRepository.findByOrderIdAndKind(orderId, BalanceLedgerEntry.Kind.DEBIT);
+            if (existing.isPresent()) {
+                // Same order but a different charge is a bad request, not a replay
+                requireSameDebit(existing.get(), userId, amount);
+                logger.info("Order {} was already debited, skipping", orderId);
+                return Optional.of(existing.get().toReplayedDebitResponse());
+            }
+
+            // A refund recorded first means the order was cancelled while this debit was in flight
+            Optional<BalanceLedgerEntry> refund =
+                ledgerRepository.findByOrderIdAndKind(orderId, BalanceLedgerEntry.Kind.REFUND);
+            if (refund.isPresent()) {
+                requireSameUser(refund.get(), userId);
+                logger.info("Order {} was already refunded, refusing debit", orderId);
+                return Optional.of(BalanceDebitResponse.refunded(userId, refund.get().getBalanceAfter()));
+            }
+        }
+
+        int updated = userRepository.debitBalance(userId, amount);
+
+        // The row stays locked until commit, so this read returns the balance we just wrote
+        Optional<BigDecimal> balance = userRepository.findBalanceById(userId);
+        if (balance.isEmpty()) {
+            return Optional.empty();
+        }
+
+        if (updated == 0) {
+            logger.warn("Insufficient balance for user {}: requested {}, available {}",
+                userId, amount, balance.get());
+            return Optional.of(BalanceDebitResponse.insufficientFunds(userId, balance.get()));
+        }
+
+        if (orderId != null) {
+            BalanceLedgerEntry entry = new BalanceLedgerEntry();
+            entry.setUserId(userId);
+            entry.setOrderId(orderId);
+            entry.setKind(BalanceLedgerEntry.Kind.DEBIT);
+            entry.setAmount(amount);
+            entry.setBalanceAfter(balance.get());
+            // Flush now so the unique (order_id, kind) key rejects a concurrent duplicate before commit
+            ledgerRepository.saveAndFlush(entry);
+        }
+
+        return Optional.of(BalanceDebitResponse.success(userId, balance.get()));
+    }
+
+    /**
+     * Gives back what an order was debited. Repeating it for the same order refunds only once,
+     * and refunding an order that was never debited records an empty refund so a debit for it
+     * that is still in flight is refused.
+     * @param userId The user who paid for the order
+     * @param orderId The order to refund
+     * @return the refund result, or empty if the user does not exist
+     * @throws LedgerConflictException if the order was debited or refunded for another user
+     * @throws org.springframework.dao.DataIntegrityViolationException if a concurrent debit or refund
+     *         for the same order committed first; this refund is rolled back and may be retried
+     */
+    @Transactional
+    public Optional<BalanceDebitResponse> refund(Long userId, Long orderId) {
+        // Same lock as debit, so the refund sees any debit of this order that committed before it
+        if (userRepository.findByIdForUpdate(userId).isEmpty()) {
+            return Optional.empty();
+        }
+
+        Optional<BalanceLedgerEntry> existing =
+            ledgerRepository.findByOrderIdAndKind(orderId, BalanceLedgerEntry.Kind.REFUND);
+        if (existing.isPresent()) {
+            requireSameUser(existing.get(), userId);
+            logger.info("Order {} was already refunded, skipping", orderId);
+            return Optional.of(existing.get().toReplayedDebitResponse());
+        }
+
+        Optional<BalanceLedgerEntry> debit =
+            ledgerRepository.findByOrderIdAndKind(orderId, BalanceLedgerEntry.Kind.DEBIT);
+        debit.ifPresent(entry -> requireSameUser(entry, userId));
+        BigDecimal amount = debit.map(BalanceLedgerEntry::getAmount).orElse(BigDecimal.ZERO);
+        if (amount.signum() > 0) {
+            userRepository.creditBalance(userId, amount);
+        }
+        BigDecimal balance = userRepository.findBalanceById(userId).orElseThrow();
+
+        BalanceLedgerEntry entry = new BalanceLedgerEntry();
+        entry.setUserId(userId);
+        entry.setOrderId(orderId);
+        entry.setKind(BalanceLedgerEntry.Kind.REFUND);
+        entry.setAmount(amount);
+        entry.setBalanceAfter(balance);
+        ledgerRepository.saveAndFlush(entry);
+
+        logger.info("Refunded {} to user {} for order {}", amount, userId, orderId);
+        return Optional.of(BalanceDebitResponse.success(userId, balance));
+    }
+
+    public List<BalanceLedgerEntry> getLedger(Long userId) {
+        return ledgerRepository.findByUserIdOrderByIdDesc(userId);
+    }
+
+    private void requireSameDebit(BalanceLedgerEntry entry, Long userId, BigDecimal amount) {
+        requireSameUser(entry, userId);
+        if (entry.getAmount().compareTo(amount) != 0) {
+            throw new LedgerConflictException("Order " + entry.getOrderId() + " was debited "
+                + entry.getAmount() + ", not " + amount);
+        }
+    }
+
+    private void requireSameUser(BalanceLedgerEntry entry, Long userId) {
+        if (!entry.getUserId().equals(userId)) {
+            throw new LedgerConflictException("Order " + entry.getOrderId() + " belongs to user "
+                + entry.getUserId() + ", not " + userId);
+        }
+    }
+}
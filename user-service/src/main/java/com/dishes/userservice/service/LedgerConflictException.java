@@ -0,0 +1,10 @@
+package com.dishes.userservice.service;
+
+/**
+ * Thrown when a debit or refund names an order the ledger already holds for another user or amount
+ */
+public class LedgerConflictException extends RuntimeException {
+    public LedgerConflictException(String message) {
+        super(message);
+    }
+}